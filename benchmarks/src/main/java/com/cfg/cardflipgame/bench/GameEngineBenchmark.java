@@ -0,0 +1,102 @@
+package com.cfg.cardflipgame.bench;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Engine throughput per difficulty: {@code deal} reports deals/sec and
+ * {@code turn} reports turns/sec (flip, flip, resolve). {@code snapshotTurn}
+ * adds a snapshot before every turn to price the copy-on-write.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+    
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private Difficulty difficulty;
+    
+    private GameEngine engine;
+    private int[] layout;
+    private int[] script;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new GameEngine(GameConfig.of(difficulty), new SplittableRandom(42));
+        layout = new int[engine.getConfig().getTotalCards()];
+        for (int i = 0; i < layout.length; i++) {
+            layout[i] = engine.getCard(i);
+        }
+        script = buildScript(layout);
+        engine.deal(layout);
+        cursor = 0;
+    }
+    
+    /**
+     * One sweep over neighbouring cards (mostly mismatches) followed by
+     * every pair flipped in turn, so a full pass ends in a win.
+     */
+    private static int[] buildScript(int[] layout) {
+        int n = layout.length;
+        int[] partner = new int[n];
+        int[] firstSeen = new int[n / 2];
+        Arrays.fill(firstSeen, -1);
+        for (int i = 0; i < n; i++) {
+            int pair = layout[i];
+            if (firstSeen[pair] < 0) {
+                firstSeen[pair] = i;
+            } else {
+                partner[i] = firstSeen[pair];
+                partner[firstSeen[pair]] = i;
+            }
+        }
+        
+        int[] script = new int[n * 2];
+        int k = 0;
+        for (int i = 0; i + 1 < n; i += 2) {
+            if (partner[i] != i + 1) {
+                script[k++] = i;
+                script[k++] = i + 1;
+            }
+        }
+        for (int pair = 0; pair < n / 2; pair++) {
+            script[k++] = firstSeen[pair];
+            script[k++] = partner[firstSeen[pair]];
+        }
+        return Arrays.copyOf(script, k);
+    }
+    
+    @Benchmark
+    public int deal() {
+        engine.deal();
+        return engine.getCard(0);
+    }
+    
+    @Benchmark
+    public void turn(Blackhole bh) {
+        if (cursor == script.length) {
+            engine.deal(layout);
+            cursor = 0;
+        }
+        bh.consume(engine.flip(script[cursor++]));
+        bh.consume(engine.flip(script[cursor++]));
+        bh.consume(engine.resolve());
+    }
+    
+    @Benchmark
+    public void snapshotTurn(Blackhole bh) {
+        bh.consume(engine.snapshot());
+        turn(bh);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cfg.cardflipgame.bench;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.ShuffleRng;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeded deals/sec for each shuffle source, the cost the bulk deal
+ * generator pays per deal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShuffleBenchmark {
+    
+    @Param({"EASY", "HARD"})
+    private Difficulty difficulty;
+    
+    @Param({"splitmix64", "L64X128MixRandom", "Xoshiro256PlusPlus"})
+    private String shuffle;
+    
+    private GameEngine engine;
+    private long seed;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new GameEngine(GameConfig.of(difficulty), new SplittableRandom(42), ShuffleRng.parse(shuffle));
+    }
+    
+    @Benchmark
+    public int seededDeal() {
+        engine.deal(seed++);
+        return engine.getCard(0);
+    }
+}
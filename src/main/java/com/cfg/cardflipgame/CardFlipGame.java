@@ -2,163 +2,354 @@ package com.cfg.cardflipgame;
 
 import javafx.animation.*;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
+import com.cfg.cardflipgame.ai.ComputerPlayer;
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameController;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.GameScheduler;
+import com.cfg.cardflipgame.engine.MatchHistory;
+import com.cfg.cardflipgame.jfr.BoardUpdateEvent;
+import com.cfg.cardflipgame.jfr.DealEvent;
+import com.cfg.cardflipgame.jfr.DifficultySwitchEvent;
+import com.cfg.cardflipgame.jfr.FlipEvent;
+import com.cfg.cardflipgame.jfr.MatchEvent;
+import com.cfg.cardflipgame.jfr.MismatchEvent;
+import com.cfg.cardflipgame.jfr.ResetEvent;
+import com.cfg.cardflipgame.jfr.WinEvent;
+import com.cfg.cardflipgame.journal.GameJournal;
+import com.cfg.cardflipgame.journal.GameResult;
+import com.cfg.cardflipgame.journal.RestoredGame;
+import com.cfg.cardflipgame.leaderboard.Leaderboard;
+import com.cfg.cardflipgame.metrics.FrameGovernor;
+import com.cfg.cardflipgame.metrics.UiMetrics;
+import com.cfg.cardflipgame.replay.ReplayWriter;
+import com.cfg.cardflipgame.sim.ExpectedMovesSolver;
+import com.cfg.cardflipgame.ui.BoardView;
+import com.cfg.cardflipgame.ui.ButtonBoardView;
+import com.cfg.cardflipgame.ui.CanvasBoardView;
+import com.cfg.cardflipgame.ui.CardFaces;
+import com.cfg.cardflipgame.ui.HoverScale;
+import com.cfg.cardflipgame.ui.MatchHistoryView;
+import com.cfg.cardflipgame.ui.MetricsOverlay;
+import com.cfg.cardflipgame.ui.RenderQuality;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
-public class CardFlipGame extends Application {
-    
-    public enum Difficulty {
-        EASY, MEDIUM, HARD
-    }
-    
-    private static class GameConfig {
-        private Difficulty difficulty;
-        private int gridRows, gridCols, totalPairs, totalCards;
-        private String difficultyName, description;
-        
-        public GameConfig(Difficulty diff, int rows, int cols, String name, String desc) {
-            this.difficulty = diff;
-            this.gridRows = rows;
-            this.gridCols = cols;
-            this.totalCards = rows * cols;
-            this.totalPairs = totalCards / 2;
-            this.difficultyName = name;
-            this.description = desc;
-        }
-        
-        public static GameConfig createEasy() {
-            return new GameConfig(Difficulty.EASY, 4, 4, "Easy", "4×4 Grid • 8 Unique Pairs");
-        }
-        
-        public static GameConfig createMedium() {
-            return new GameConfig(Difficulty.MEDIUM, 6, 6, "Medium", "6×6 Grid • 18 Unique Pairs");
-        }
-        
-        public static GameConfig createHard() {
-            return new GameConfig(Difficulty.HARD, 8, 8, "Hard", "8×8 Grid • 32 Unique Pairs");
-        }
-        
-        public Difficulty getDifficulty() { return difficulty; }
-        public int getGridRows() { return gridRows; }
-        public int getGridCols() { return gridCols; }
-        public int getTotalPairs() { return totalPairs; }
-        public int getTotalCards() { return totalCards; }
-        public String getDifficultyName() { return difficultyName; }
-        public String getDescription() { return description; }
-    }
+public final class CardFlipGame extends Application {
     
     private GameConfig config;
-    private int[] cards;
-    private boolean[] solved;
-    private boolean[] revealed;
-    private int[] flipped = new int[2];
-    private int flippedCount = 0;
-    private boolean waitingForDelay = false;
-    private int matchedPairs = 0;
-    private boolean gameWon = false;
-    private int moves = 0;
-    private Random random = new Random();
+    private GameEngine engine;
+    private final GameScheduler scheduler = new GameScheduler();
+    private final AnimationTimer schedulerPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            scheduler.advance();
+            if (scheduler.isIdle()) {
+                stop();
+            }
+        }
+    };
+    private final GameController controller = new GameController(scheduler, new ControllerListener());
+    private double parMoves;
+    private ReplayWriter replayWriter;
+    private GameJournal journal;
+    private long gameStartMillis;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final UiMetrics uiMetrics = new UiMetrics();
+    private MetricsOverlay metricsOverlay;
+    // Null when --quality fixes the level
+    private FrameGovernor qualityGovernor;
+    private long pulseStartNanos;
+    private RenderQuality renderQuality = RenderQuality.FULL;
+    private ComputerPlayer computer;
+    private boolean versus = false;
+    private boolean computerTurn = false;
+    // Pairs taken in versus mode: you, then the computer
+    private final int[] pairsWon = new int[2];
     
     private Stage primaryStage;
+    private StackPane sceneRoot;
     private BorderPane root;
     private Label titleLabel;
     private Label descriptionLabel;
     private Label statsLabel;
-    private GridPane gameGrid;
-    private Button[][] cardButtons;
+    private BoardView boardView;
+    private GameEngine boundEngine;
+    private ButtonBoardView buttonBoard;
+    private CanvasBoardView canvasBoard;
     private HBox difficultyButtons;
     private Button easyBtn, mediumBtn, hardBtn;
     
-    private Map<Integer, String> cardSymbols = new HashMap<>();
-    private Map<Integer, Color> cardColors = new HashMap<>();
-    private Deque<String> matchStack = new ArrayDeque<>();
+    private CardFaces cardFaces;
+    // Faces and their rendered atlases survive difficulty switches
+    private final Map<Integer, CardFaces> facesByPairCount = new HashMap<>();
+    private final MatchHistory matchHistory = new MatchHistory();
+    private MatchHistoryView matchHistoryView;
     private VBox matchStackBox;
     
-    private static final String[] SYMBOLS = {
-        "🎮", "🎯", "🎲", "🎪", "🎨", "🎭", "🎬", "🎤", "🎸", "🎹", "🎺", "🎻",
-        "⚽", "🏀", "🏈", "⚾", "🎾", "🏐", "🏓", "🏸", "🥊", "🏆", "🥇", "🥈",
-        "🌟", "⭐", "✨", "💫", "🌙", "☀️", "🌈", "⚡", "🔥", "💎", "🎊", "🎉",
-        "🦄", "🐉", "🦋", "🌸", "🌺", "🌻", "🌷", "🌹", "🍀", "🌿", "🍃", "🌱",
-        "🎁", "🎈", "🎀", "💝", "💖", "💕", "💗", "💓", "💘", "💞", "💌", "💐"
-    };
+    private static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+    // The FX thread's share of a 60 fps frame; rendering needs the rest
+    private static final long PULSE_BUDGET_NANOS = 1_000_000_000L / 60 / 2;
     
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.config = GameConfig.createEasy();
+        this.config = configFromParameters();
+        configureDelays();
+        configureOpponent();
+        configureQuality();
+        openReplayLog();
+        openJournal();
         
         initializeGame();
         setupUI();
         
         primaryStage.setTitle("Memory Game");
-        primaryStage.setScene(new Scene(root, 1000, 800));
+        Scene scene = new Scene(sceneRoot, 1000, 800);
+        scene.getStylesheets().add(getClass().getResource("game.css").toExternalForm());
+        installMetrics(scene);
+        scene.addPreLayoutPulseListener(() -> pulseStartNanos = System.nanoTime());
+        scene.addPreLayoutPulseListener(this::flushBoardChanges);
+        scene.addPostLayoutPulseListener(this::governQuality);
+        primaryStage.setScene(scene);
         primaryStage.setResizable(false);
         primaryStage.show();
     }
     
-    private void initializeGame() {
-        cards = new int[config.getTotalCards()];
-        solved = new boolean[config.getTotalCards()];
-        revealed = new boolean[config.getTotalCards()];
+    private GameConfig configFromParameters() {
+        Map<String, String> named = getParameters().getNamed();
+        GameConfig initial = GameConfig.createEasy();
+        
+        if (named.containsKey("rows") || named.containsKey("cols")) {
+            int rows = Integer.parseInt(named.getOrDefault("rows", named.get("cols")));
+            int cols = Integer.parseInt(named.getOrDefault("cols", named.get("rows")));
+            initial = GameConfig.createCustom(rows, cols);
+            if (initial.getTotalPairs() > CardFaces.MAX_PAIRS) {
+                throw new IllegalArgumentException("Boards are limited to " + CardFaces.MAX_PAIRS * 2
+                    + " cards, one distinct face per pair: " + rows + "×" + cols);
+            }
+        }
+        if (named.containsKey("renderer")) {
+            initial = initial.withRenderer(
+                GameConfig.Renderer.valueOf(named.get("renderer").toUpperCase(Locale.ROOT)));
+        }
+        return initial;
+    }
+    
+    private void configureDelays() {
+        Map<String, String> named = getParameters().getNamed();
+        long matchDelayMillis = 500;
+        long mismatchDelayMillis = 1000;
         
-        for (int i = 0; i < config.getTotalPairs(); i++) {
-            cards[i * 2] = i;
-            cards[i * 2 + 1] = i;
+        if (getParameters().getUnnamed().contains("--turbo")) {
+            matchDelayMillis = 0;
+            mismatchDelayMillis = 0;
         }
+        if (named.containsKey("match-delay")) {
+            matchDelayMillis = Long.parseLong(named.get("match-delay"));
+        }
+        if (named.containsKey("mismatch-delay")) {
+            mismatchDelayMillis = Long.parseLong(named.get("mismatch-delay"));
+        }
+        controller.setDelays(matchDelayMillis, mismatchDelayMillis);
+    }
+    
+    private void configureOpponent() {
+        Map<String, String> named = getParameters().getNamed();
         
-        Arrays.fill(solved, false);
-        Arrays.fill(revealed, false);
-        flipped[0] = flipped[1] = -1;
-        flippedCount = 0;
-        waitingForDelay = false;
-        matchedPairs = 0;
-        gameWon = false;
-        moves = 0;
+        versus = getParameters().getUnnamed().contains("--versus");
+        computer = new ComputerPlayer(
+            Double.parseDouble(named.getOrDefault("ai-accuracy", "0.75")),
+            Long.parseLong(named.getOrDefault("ai-reaction", "600")),
+            System.nanoTime(), Platform::runLater);
+    }
+    
+    private void configureQuality() {
+        String mode = getParameters().getNamed().getOrDefault("quality", "auto");
+        if (mode.equals("auto")) {
+            qualityGovernor = new FrameGovernor(PULSE_BUDGET_NANOS, RenderQuality.values().length);
+        } else {
+            renderQuality = RenderQuality.valueOf(mode.toUpperCase(Locale.ROOT));
+        }
+    }
+    
+    private void openReplayLog() {
+        Path file = Path.of(getParameters().getNamed().getOrDefault("replay-file",
+            Path.of(System.getProperty("user.home"), ".cardflipgame", "replays.cfgr").toString()));
+        try {
+            replayWriter = ReplayWriter.append(file);
+        } catch (IOException e) {
+            System.err.println("Replay log disabled: " + e.getMessage());
+        }
+    }
+    
+    private void endReplay() {
+        if (replayWriter == null || engine == null) return;
+        
+        try {
+            replayWriter.endGame(engine);
+        } catch (IOException e) {
+            System.err.println("Replay log disabled: " + e.getMessage());
+            replayWriter = null;
+        }
+    }
+    
+    private void openJournal() {
+        Path directory = Path.of(getParameters().getNamed().getOrDefault("journal-dir",
+            Path.of(System.getProperty("user.home"), ".cardflipgame", "journal").toString()));
+        try {
+            journal = GameJournal.open(directory);
+        } catch (IOException e) {
+            System.err.println("Journal disabled: " + e.getMessage());
+            return;
+        }
+        // Only what rankWin would have accepted live goes back on the leaderboard
+        for (GameResult result : journal.getHistory()) {
+            if (result.isWon() && !result.isVersus() && result.getDifficulty() != Difficulty.CUSTOM) {
+                leaderboard.add(result.getDifficulty(), result.getMoves(),
+                    result.getElapsedMillis(), result.getFinishedAtMillis());
+            }
+        }
+    }
+    
+    private void endJournal() {
+        if (journal == null || engine == null) return;
+        
+        long now = System.currentTimeMillis();
+        try {
+            journal.endGame(engine, now - gameStartMillis, now);
+        } catch (IOException e) {
+            disableJournal(e);
+        }
+    }
+    
+    private void disableJournal(IOException e) {
+        System.err.println("Journal disabled: " + e.getMessage());
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+        }
+        journal = null;
+    }
+    
+    private void initializeGame() {
+        DealEvent event = new DealEvent();
+        event.begin();
+        
+        endReplay();
+        endJournal();
+        
+        String seedParam = engine == null ? getParameters().getNamed().get("seed") : null;
+        if (seedParam != null && journal != null) {
+            // The requested deal replaces the game the journal ends in, which is kept as abandoned
+            try {
+                journal.abandon(System.currentTimeMillis());
+            } catch (IOException e) {
+                disableJournal(e);
+            }
+        }
+        // The first board continues where the last session left off
+        RestoredGame restored = engine == null && seedParam == null && journal != null ? journal.restore() : null;
+        if (restored != null) {
+            engine = restored.getEngine();
+            config = engine.getConfig();
+            parMoves = ExpectedMovesSolver.expectedMoves(config.getTotalPairs());
+            gameStartMillis = restored.getStartedAtMillis();
+            // Only the first board is restored, before the footer shows the mode
+            versus = restored.isVersus();
+        } else {
+            if (engine == null || engine.getConfig() != config) {
+                engine = new GameEngine(config);
+                parMoves = ExpectedMovesSolver.expectedMoves(config.getTotalPairs());
+            }
+            if (seedParam != null) {
+                engine.deal(Long.parseLong(seedParam));
+            } else {
+                engine.deal();
+            }
+            gameStartMillis = System.currentTimeMillis();
+            beginJournal();
+        }
+        // Resolutions still pending belong to the board being replaced
+        controller.start(engine);
+        
+        if (replayWriter != null) {
+            replayWriter.beginGame(engine, System.currentTimeMillis());
+            if (restored != null) {
+                for (int flip : restored.getFlips()) {
+                    replayWriter.recordFlip(flip, System.currentTimeMillis());
+                }
+            }
+        }
+        
+        computer.newGame(config);
+        computerTurn = false;
+        Arrays.fill(pairsWon, 0);
         
-        fisherYatesShuffle();
         initializeSymbolsAndColors();
+        if (restored != null) {
+            MatchHistory matches = restored.getMatches();
+            matchHistory.reset(config.getTotalPairs());
+            for (int i = 0; i < matches.size(); i++) {
+                matchHistory.add(matches.getMove(i), -1, matches.getFirstCard(i), matches.getSecondCard(i));
+            }
+        } else {
+            matchHistory.reset(config.getTotalPairs());
+        }
+        
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.seed = engine.getSeed();
+            event.commit();
+        }
     }
     
-    private void fisherYatesShuffle() {
-        for (int i = config.getTotalCards() - 1; i > 0; i--) {
-            int j = random.nextInt(i + 1);
-            int temp = cards[i];
-            cards[i] = cards[j];
-            cards[j] = temp;
+    private void beginJournal() {
+        if (journal == null) return;
+        
+        try {
+            journal.beginGame(engine, versus, gameStartMillis);
+        } catch (IOException e) {
+            disableJournal(e);
         }
     }
     
     private void initializeSymbolsAndColors() {
-        cardSymbols.clear();
-        cardColors.clear();
-        
-        for (int i = 0; i < config.getTotalPairs(); i++) {
-            cardSymbols.put(i, SYMBOLS[i % SYMBOLS.length]);
-            
-            double hue = (double) i / config.getTotalPairs() * 360;
-            cardColors.put(i, Color.hsb(hue, 0.8, 0.9));
+        if (cardFaces == null || cardFaces.getPairCount() != config.getTotalPairs()) {
+            cardFaces = facesByPairCount.computeIfAbsent(config.getTotalPairs(), CardFaces::new);
         }
     }
     
 private void setupUI() {
     root = new BorderPane();
-    root.setStyle("-fx-background: linear-gradient(to bottom, #667eea 0%, #764ba2 100%);");
+    metricsOverlay = new MetricsOverlay(uiMetrics);
+    sceneRoot = new StackPane(root, metricsOverlay.getNode());
+    sceneRoot.setStyle("-fx-background: linear-gradient(to bottom, #667eea 0%, #764ba2 100%);");
     
     matchStackBox = new VBox(15);
     matchStackBox.setPadding(new Insets(20));
     matchStackBox.setMaxWidth(250);
-    matchStackBox.setMaxHeight(300);
+    matchStackBox.setPrefWidth(250);
+    matchStackBox.setMaxHeight(420);
     matchStackBox.setStyle("""
         -fx-background-color: rgba(248, 249, 250, 0.9);
         -fx-background-radius: 20;
@@ -168,10 +359,12 @@ private void setupUI() {
         -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 4);
         """);
     VBox.setMargin(matchStackBox, new Insets(15));
-    Label hdr = new Label("Latest Matches:");
+    Label hdr = new Label("Matches:");
     hdr.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
     hdr.setTextFill(Color.web("#333"));
-    matchStackBox.getChildren().add(hdr);
+    matchHistoryView = new MatchHistoryView();
+    VBox.setVgrow(matchHistoryView.getNode(), Priority.ALWAYS);
+    matchStackBox.getChildren().addAll(hdr, matchHistoryView.getNode());
     StackPane leftWrapper = new StackPane(matchStackBox);
     leftWrapper.setPadding(new Insets(15)); // adds margin from all sides
     root.setLeft(leftWrapper);
@@ -179,42 +372,19 @@ private void setupUI() {
     
 
     root.setTop(createHeader());
-    createGameGrid();
-    root.setCenter(gameGrid);
+    buttonBoard = new ButtonBoardView(this::handlePlayerClick);
+    canvasBoard = new CanvasBoardView(this::handlePlayerClick);
+    buttonBoard.setQuality(renderQuality);
+    canvasBoard.setQuality(renderQuality);
+    showBoard();
     root.setBottom(createFooter());
 
     updateStatsLabel();
-    updateStackUI();
 }
 
 private void handleMatch(int idx1, int idx2) {
-    String sym = cardSymbols.get(cards[idx1]);
-    matchStack.offerFirst(sym);
-    if (matchStack.size() > 3) matchStack.removeLast();
-    updateStackUI();
-}
-
-private void updateStackUI() {
-    if (matchStackBox.getChildren().size() > 1) {
-        matchStackBox.getChildren().subList(1, matchStackBox.getChildren().size()).clear();
-    }
-    
-    matchStack.stream().limit(3).forEach(s -> {
-        Label entry = new Label(s);
-        entry.setFont(Font.font("Segoe UI", FontWeight.BOLD, 24));
-        entry.setTextFill(Color.web("#333"));
-        entry.setAlignment(Pos.CENTER);
-        entry.setPadding(new Insets(12));
-        entry.setPrefWidth(120);
-        entry.setStyle("""
-            -fx-background-color: white;
-            -fx-background-radius: 16;
-            -fx-border-radius: 16;
-            -fx-border-color: rgba(0,0,0,0.1);
-            -fx-border-width: 1;
-            """);
-        matchStackBox.getChildren().add(entry);
-    });
+    matchHistory.add(engine.getMoves(), System.currentTimeMillis() - gameStartMillis, idx1, idx2);
+    matchHistoryView.appended();
 }
 
     
@@ -253,163 +423,106 @@ private void updateStackUI() {
         return header;
     }
     
-    private void createGameGrid() {
-        gameGrid = new GridPane();
-        gameGrid.setAlignment(Pos.CENTER);
-        gameGrid.setHgap(8);
-        gameGrid.setVgap(8);
-        gameGrid.setPadding(new Insets(20));
-        
-        cardButtons = new Button[config.getGridRows()][config.getGridCols()];
-        
-        for (int i = 0; i < config.getTotalCards(); i++) {
-            int row = i / config.getGridCols();
-            int col = i % config.getGridCols();
-            
-            Button card = createCardButton(i);
-            cardButtons[row][col] = card;
-            gameGrid.add(card, col, row);
+    private void showBoard() {
+        BoardView view = switch (config.getRenderer()) {
+            case BUTTONS -> buttonBoard;
+            case CANVAS -> canvasBoard;
+        };
+        if (view == boardView && engine == boundEngine) {
+            // Same engine re-dealt: the change set holds every card that looks different
+            boardView.setLocked(false);
+            Platform.requestNextPulse();
+        } else {
+            boardView = view;
+            boundEngine = engine;
+            long start = System.nanoTime();
+            boardView.bind(engine, cardFaces);
+            engine.clearChanges();
+            uiMetrics.record(UiMetrics.Metric.DISPLAY_UPDATE, System.nanoTime() - start);
         }
-        
-        updateCardDisplay();
+        root.setCenter(boardView.getNode());
+        matchHistoryView.bind(matchHistory, engine, cardFaces);
     }
     
-    private Button createCardButton(int cardIndex) {
-        Button button = new Button();
+    /** Applies the cards the engine changed since the last pulse, all in this pulse. */
+    private void flushBoardChanges() {
+        if (boardView == null || engine.getChangeCount() == 0) return;
         
-        double size = switch (config.getDifficulty()) {
-            case EASY -> 80;
-            case MEDIUM -> 60;
-            case HARD -> 45;
-        };
+        BoardUpdateEvent event = new BoardUpdateEvent();
+        event.begin();
+        int changed = engine.getChangeCount();
         
-        button.setPrefSize(size, size);
-        button.setMinSize(size, size);
-        button.setMaxSize(size, size);
-        
-        button.setStyle("""
-            -fx-background-color: linear-gradient(to bottom, #f8f9fa, #e9ecef);
-            -fx-background-radius: 12;
-            -fx-border-radius: 12;
-            -fx-border-color: rgba(255, 255, 255, 0.3);
-            -fx-border-width: 2;
-            -fx-font-size: %dpx;
-            -fx-font-weight: bold;
-            -fx-cursor: hand;
-            """.formatted((int)(size * 0.4)));
-        
-        button.setOnMouseEntered(e -> {
-            if (!solved[cardIndex] && !revealed[cardIndex] && !waitingForDelay) {
-                button.setStyle(button.getStyle() + 
-                    "-fx-background-color: linear-gradient(to bottom, #ffffff, #f8f9fa);");
-                
-                ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-                scale.setToX(1.05);
-                scale.setToY(1.05);
-                scale.play();
-            }
-        });
+        long start = System.nanoTime();
+        engine.drainChanges(boardView::update);
+        uiMetrics.record(UiMetrics.Metric.DISPLAY_UPDATE, System.nanoTime() - start);
         
-        button.setOnMouseExited(e -> {
-            if (!solved[cardIndex] && !revealed[cardIndex]) {
-                button.setStyle(button.getStyle().replace(
-                    "-fx-background-color: linear-gradient(to bottom, #ffffff, #f8f9fa);", ""));
-                
-                ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-                scale.setToX(1.0);
-                scale.setToY(1.0);
-                scale.play();
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.changed = changed;
+            event.commit();
+        }
+    }
+    
+    /** Steps render quality down when pulses run over budget and back up when they settle. */
+    private void governQuality() {
+        if (qualityGovernor == null || !qualityGovernor.pulse(System.nanoTime() - pulseStartNanos)) return;
+        
+        renderQuality = RenderQuality.values()[qualityGovernor.getLevel()];
+        buttonBoard.setQuality(renderQuality);
+        canvasBoard.setQuality(renderQuality);
+        metricsOverlay.setStatus("Render quality: " + renderQuality.name().toLowerCase(Locale.ROOT));
+    }
+    
+    /** F3 toggles the metrics overlay, F4 exports histograms, F5 clears them. */
+    private void installMetrics(Scene scene) {
+        scene.addPreLayoutPulseListener(() -> uiMetrics.pulseStarted(System.nanoTime()));
+        scene.addPostLayoutPulseListener(() -> uiMetrics.pulseLaidOut(System.nanoTime()));
+        uiMetrics.installGcListener();
+        
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            switch (e.getCode()) {
+                case F3 -> metricsOverlay.toggle();
+                case F4 -> exportMetrics();
+                case F5 -> {
+                    uiMetrics.reset();
+                    metricsOverlay.setStatus("Histograms cleared");
+                }
+                default -> {
+                    return;
+                }
             }
+            e.consume();
         });
-        
-        button.setOnAction(e -> handleCardClick(cardIndex));
-        
-        button.setEffect(new DropShadow(5, Color.rgb(0, 0, 0, 0.2)));
-        return button;
+    }
+    
+    private void exportMetrics() {
+        Path directory = Path.of(System.getProperty("user.home"), ".cardflipgame", "metrics",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        try {
+            uiMetrics.export(directory);
+            metricsOverlay.setStatus("Exported to " + directory);
+        } catch (IOException e) {
+            metricsOverlay.setStatus("Export failed: " + e.getMessage());
+        }
     }
     
     private void styleMainButton(Button button) {
-        button.setStyle("""
-            -fx-background-color: linear-gradient(to bottom, #ff6b6b, #ee5a52);
-            -fx-text-fill: white;
-            -fx-font-size: 16px;
-            -fx-font-weight: bold;
-            -fx-background-radius: 25;
-            -fx-border-radius: 25;
-            -fx-padding: 12 24 12 24;
-            -fx-cursor: hand;
-            """);
+        button.getStyleClass().add("main-button");
         
         button.setEffect(new DropShadow(8, Color.rgb(0, 0, 0, 0.3)));
         
-        button.setOnMouseEntered(e -> {
-            button.setStyle(button.getStyle() + 
-                "-fx-background-color: linear-gradient(to bottom, #ff5252, #e53935);");
-            
-            ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-            scale.setToX(1.05);
-            scale.setToY(1.05);
-            scale.play();
-        });
-        
-        button.setOnMouseExited(e -> {
-            button.setStyle(button.getStyle().replace(
-                "-fx-background-color: linear-gradient(to bottom, #ff5252, #e53935);", ""));
-            
-            ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-            scale.setToX(1.0);
-            scale.setToY(1.0);
-            scale.play();
-        });
+        HoverScale.install(button, 1.05);
     }
     
     private Button createDifficultyButton(String text, GameConfig newConfig) {
         Button button = new Button(text);
         
-        boolean isSelected = newConfig.getDifficulty() == config.getDifficulty();
-        
-        if (isSelected) {
-            button.setStyle("""
-                -fx-background-color: linear-gradient(to bottom, #4ecdc4, #44a08d);
-                -fx-text-fill: white;
-                -fx-font-size: 12px;
-                -fx-font-weight: bold;
-                -fx-background-radius: 20;
-                -fx-border-radius: 20;
-                -fx-padding: 8 16 8 16;
-                -fx-cursor: hand;
-                """);
-        } else {
-            button.setStyle("""
-                -fx-background-color: rgba(255, 255, 255, 0.2);
-                -fx-text-fill: white;
-                -fx-font-size: 12px;
-                -fx-font-weight: bold;
-                -fx-background-radius: 20;
-                -fx-border-radius: 20;
-                -fx-border-color: rgba(255, 255, 255, 0.3);
-                -fx-border-width: 1;
-                -fx-padding: 8 16 8 16;
-                -fx-cursor: hand;
-                """);
-        }
+        button.getStyleClass().add("difficulty-button");
+        button.pseudoClassStateChanged(SELECTED, newConfig.getDifficulty() == config.getDifficulty());
         
         button.setOnAction(e -> switchDifficulty(newConfig));
         
-        // Add hover effect
-        button.setOnMouseEntered(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-            scale.setToX(1.1);
-            scale.setToY(1.1);
-            scale.play();
-        });
-        
-        button.setOnMouseExited(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(100), button);
-            scale.setToX(1.0);
-            scale.setToY(1.0);
-            scale.play();
-        });
+        HoverScale.install(button, 1.1);
         
         return button;
     }
@@ -423,257 +536,269 @@ private void updateStackUI() {
         styleMainButton(newGameBtn);
         newGameBtn.setOnAction(e -> resetGame());
         
-        footer.getChildren().addAll(newGameBtn);
+        Button versusBtn = new Button(versusText());
+        styleMainButton(versusBtn);
+        versusBtn.setOnAction(e -> {
+            versus = !versus;
+            versusBtn.setText(versusText());
+            resetGame();
+        });
+        
+        HBox buttons = new HBox(15, newGameBtn, versusBtn);
+        buttons.setAlignment(Pos.CENTER);
+        footer.getChildren().addAll(buttons);
         return footer;
     }
     
+    private String versusText() {
+        return versus ? "Play Solo" : "Play vs Computer";
+    }
+    
+    /** Clicks on the board; ignored while the computer takes its turn. */
+    private void handlePlayerClick(int cardIndex) {
+        if (computerTurn) return;
+        handleCardClick(cardIndex);
+    }
+    
+    /** Asks the computer for its next card; the pick comes back on the FX thread. */
+    private void requestComputerPick() {
+        boardView.setLocked(true);
+        computer.requestPick(engine.snapshot(), cardIndex -> {
+            if (computerTurn) {
+                handleCardClick(cardIndex);
+            }
+        });
+    }
+    
     private void handleCardClick(int cardIndex) {
-        if (waitingForDelay || gameWon || solved[cardIndex] || revealed[cardIndex]) {
+        long clickNanos = System.nanoTime();
+        FlipEvent flipEvent = new FlipEvent();
+        flipEvent.begin();
+        
+        GameEngine.FlipResult result = controller.click(cardIndex);
+        if (result == GameEngine.FlipResult.IGNORED) {
             return;
         }
         
-        flipCard(cardIndex, true);
+        uiMetrics.clickReceived(clickNanos);
+        commitFlip(flipEvent, cardIndex, result != GameEngine.FlipResult.FIRST);
+        if (!scheduler.isIdle()) {
+            schedulerPulse.start();
+        }
+    }
+    
+    /** Reactions to the controller. With a zero delay a pair is resolved inside the click that completed it. */
+    private final class ControllerListener implements GameController.Listener {
         
-        revealed[cardIndex] = true;
-        flipped[flippedCount] = cardIndex;
-        flippedCount++;
+        @Override
+        public void flipped(int cardIndex, GameEngine.FlipResult result) {
+            if (versus) {
+                computer.observe(cardIndex, engine.getCard(cardIndex));
+            }
+            Platform.requestNextPulse();
+            if (replayWriter != null) {
+                replayWriter.recordFlip(cardIndex, System.currentTimeMillis());
+            }
+            if (journal != null) {
+                try {
+                    journal.recordFlip(cardIndex);
+                } catch (IOException e) {
+                    disableJournal(e);
+                }
+            }
+            
+            if (result == GameEngine.FlipResult.FIRST) {
+                if (computerTurn) {
+                    requestComputerPick();
+                }
+                return;
+            }
+            
+            updateStatsLabel();
+            boardView.setLocked(true);
+        }
         
-        if (flippedCount == 2) {
-            moves++;
+        @Override
+        public void matched(int card1, int card2) {
+            MatchEvent event = new MatchEvent();
+            event.begin();
+            boardView.setLocked(false);
+            
+            handleMatch(card1, card2);
+            if (versus) {
+                pairsWon[computerTurn ? 1 : 0]++;
+            }
+            Platform.requestNextPulse();
+            
             updateStatsLabel();
             
-            int card1 = flipped[0];
-            int card2 = flipped[1];
+            if (event.shouldCommit()) {
+                event.describe(engine);
+                event.card1 = card1;
+                event.card2 = card2;
+                event.matchedPairs = engine.getMatchedPairs();
+                event.commit();
+            }
             
-            if (cards[card1] == cards[card2]) {
-                Timeline delay = new Timeline(new KeyFrame(Duration.millis(500), e -> {
-                    solved[card1] = true;
-                    solved[card2] = true;
-                    matchedPairs++;
-                    
-                    handleMatch(card1, card2);
-                    animateMatchFound(card1, card2);
-                    
-                    flippedCount = 0;
-                    flipped[0] = flipped[1] = -1;
-                    
-                    updateStatsLabel();
-                    
-                    if (matchedPairs == config.getTotalPairs()) {
-                        gameWon = true;
-                        showWinScreen();
-                    }
-
-                }));
-                delay.play();
-            } else {
-                waitingForDelay = true;
-                Timeline delay = new Timeline(new KeyFrame(Duration.millis(1000), e -> {
-                    flipCard(card1, false);
-                    flipCard(card2, false);
-                    
-                    revealed[card1] = false;
-                    revealed[card2] = false;
-                    
-                    waitingForDelay = false;
-                    flippedCount = 0;
-                    flipped[0] = flipped[1] = -1;
-                }));
-                delay.play();
+            if (engine.isWon()) {
+                endReplay();
+                endJournal();
+                showWinScreen(rankWin());
+            } else if (computerTurn) {
+                requestComputerPick();
             }
         }
+        
+        @Override
+        public void mismatched(int card1, int card2) {
+            MismatchEvent event = new MismatchEvent();
+            event.begin();
+            boardView.setLocked(false);
+            
+            Platform.requestNextPulse();
+            
+            if (versus) {
+                computerTurn = !computerTurn;
+                updateStatsLabel();
+                if (computerTurn) {
+                    requestComputerPick();
+                }
+            }
+            
+            if (event.shouldCommit()) {
+                event.describe(engine);
+                event.card1 = card1;
+                event.card2 = card2;
+                event.commit();
+            }
+        }
+    }
+    
+    private void commitFlip(FlipEvent event, int cardIndex, boolean second) {
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.card = cardIndex;
+            event.second = second;
+            event.commit();
+        }
     }
     
-    private void showWinScreen() {
+    /** Puts the game just won on the leaderboard; custom boards and versus games are not ranked. */
+    private Leaderboard.Standing rankWin() {
+        if (versus || config.getDifficulty() == Difficulty.CUSTOM) return null;
+        
+        long now = System.currentTimeMillis();
+        return leaderboard.submit(config.getDifficulty(), engine.getMoves(), now - gameStartMillis, now);
+    }
+    
+    private void showWinScreen(Leaderboard.Standing standing) {
+        WinEvent event = new WinEvent();
+        event.begin();
+        
         VBox winPane = new VBox(20);
         winPane.setAlignment(Pos.CENTER);
         winPane.setPadding(new Insets(50));
 
-        Label winLabel = new Label("🎉 YOU WIN! 🎉");
+        Label winLabel = new Label(winTitle());
         winLabel.setFont(Font.font("Segoe UI", FontWeight.EXTRA_BOLD, 48));
         winLabel.setTextFill(Color.WHITE);
 
+        winPane.getChildren().add(winLabel);
+        if (standing != null) {
+            Label rankLabel = new Label(String.format("Rank #%d of %d  •  Top %.1f%%",
+                standing.getRank(), standing.getTotal(), standing.getTopPercent()));
+            rankLabel.setFont(Font.font("Segoe UI", FontWeight.BOLD, 20));
+            rankLabel.setTextFill(Color.WHITE);
+            winPane.getChildren().add(rankLabel);
+        }
+
         Button playAgain = new Button("Play Again");
         styleMainButton(playAgain);
         playAgain.setOnAction(e -> {
             // restore main grid
             initializeGame();
-            createGameGrid();          
-            updateCardDisplay();
+            showBoard();
             updateStatsLabel();
-            root.setCenter(gameGrid);   
-            gameWon = false;
         });
 
-        winPane.getChildren().addAll(winLabel, playAgain);
+        winPane.getChildren().add(playAgain);
         root.setCenter(winPane);
-    }
-    
-    private void flipCard(int cardIndex, boolean reveal) {
-        int row = cardIndex / config.getGridCols();
-        int col = cardIndex % config.getGridCols();
-        Button button = cardButtons[row][col];
-        
-        RotateTransition rotate = new RotateTransition(Duration.millis(200), button);
-        rotate.setAxis(new javafx.geometry.Point3D(0, 1, 0));
-        rotate.setFromAngle(0);
-        rotate.setToAngle(90);
-        
-        rotate.setOnFinished(e -> {
-            if (reveal) {
-                Color cardColor = cardColors.get(cards[cardIndex]);
-                String symbol = cardSymbols.get(cards[cardIndex]);
-                
-                button.setText(symbol);
-                button.setStyle(button.getStyle() + String.format(
-                    "-fx-background-color: %s;", toHexString(cardColor)));
-            } else {
-                button.setText("");
-                button.setStyle(button.getStyle().replaceAll(
-                    "-fx-background-color: #[0-9a-fA-F]{6};", ""));
-            }
-            
-            RotateTransition rotateBack = new RotateTransition(Duration.millis(200), button);
-            rotateBack.setAxis(new javafx.geometry.Point3D(0, 1, 0));
-            rotateBack.setFromAngle(90);
-            rotateBack.setToAngle(0);
-            rotateBack.play();
-        });
-        
-        rotate.play();
-    }
-    
-    private void animateMatchFound(int card1, int card2) {
-        int row1 = card1 / config.getGridCols();
-        int col1 = card1 % config.getGridCols();
-        int row2 = card2 / config.getGridCols();
-        int col2 = card2 % config.getGridCols();
-        
-        Button button1 = cardButtons[row1][col1];
-        Button button2 = cardButtons[row2][col2];
-        
-        DropShadow glow = new DropShadow();
-        glow.setColor(Color.GOLD);
-        glow.setRadius(20);
-        glow.setSpread(0.5);
-        
-        button1.setEffect(glow);
-        button2.setEffect(glow);
-        
-        ScaleTransition pulse1 = new ScaleTransition(Duration.millis(300), button1);
-        pulse1.setFromX(1.0);
-        pulse1.setFromY(1.0);
-        pulse1.setToX(1.2);
-        pulse1.setToY(1.2);
-        pulse1.setAutoReverse(true);
-        pulse1.setCycleCount(2);
         
-        ScaleTransition pulse2 = new ScaleTransition(Duration.millis(300), button2);
-        pulse2.setFromX(1.0);
-        pulse2.setFromY(1.0);
-        pulse2.setToX(1.2);
-        pulse2.setToY(1.2);
-        pulse2.setAutoReverse(true);
-        pulse2.setCycleCount(2);
-        
-        pulse1.play();
-        pulse2.play();
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.gameMillis = System.currentTimeMillis() - gameStartMillis;
+            event.commit();
+        }
     }
     
-    private void updateCardDisplay() {
-        if (cardButtons == null) return;
-        
-        for (int i = 0; i < config.getTotalCards(); i++) {
-            int row = i / config.getGridCols();
-            int col = i % config.getGridCols();
-            
-            if (row < cardButtons.length && col < cardButtons[row].length) {
-                Button button = cardButtons[row][col];
-                
-                if (solved[i] || revealed[i]) {
-                    Color cardColor = cardColors.get(cards[i]);
-                    String symbol = cardSymbols.get(cards[i]);
-                    
-                    button.setText(symbol);
-                    button.setStyle(button.getStyle() + String.format(
-                        "-fx-background-color: %s;", toHexString(cardColor)));
-                } else {
-                    button.setText("");
-                    button.setStyle(button.getStyle().replaceAll(
-                        "-fx-background-color: #[0-9a-fA-F]{6};", ""));
-                }
-            }
-        }
+    private String winTitle() {
+        if (!versus || pairsWon[0] > pairsWon[1]) return "🎉 YOU WIN! 🎉";
+        return pairsWon[0] == pairsWon[1] ? "🤝 DRAW 🤝" : "🤖 COMPUTER WINS 🤖";
     }
     
     private void updateStatsLabel() {
-        statsLabel.setText(String.format("Moves: %d  •  Pairs: %d/%d  •  Cards: %d",
-            moves, matchedPairs, config.getTotalPairs(), config.getTotalCards()));
+        String stats = String.format("Moves: %d  •  Par: %.1f  •  Pairs: %d/%d  •  Cards: %d",
+            engine.getMoves(), parMoves, engine.getMatchedPairs(), config.getTotalPairs(), config.getTotalCards());
+        if (versus) {
+            stats += String.format("  •  You %d : %d Computer%s",
+                pairsWon[0], pairsWon[1], computerTurn ? "  •  Computer's turn" : "");
+        }
+        statsLabel.setText(stats);
     }
     
     private void switchDifficulty(GameConfig newConfig) {
+        DifficultySwitchEvent event = new DifficultySwitchEvent();
+        event.begin();
+        String from = config.getDifficultyName();
         this.config = newConfig;
         
         descriptionLabel.setText(config.getDescription());
         
         updateDifficultyButtons();
         initializeGame();
-        
-        root.setCenter(null);
-        createGameGrid();
-        root.setCenter(gameGrid);
+        showBoard();
         
         updateStatsLabel();
+        
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.from = from;
+            event.to = config.getDifficultyName();
+            event.commit();
+        }
     }
     
     private void updateDifficultyButtons() {
-        easyBtn.setStyle(config.getDifficulty() == Difficulty.EASY ? 
-            getSelectedButtonStyle() : getUnselectedButtonStyle());
-        mediumBtn.setStyle(config.getDifficulty() == Difficulty.MEDIUM ? 
-            getSelectedButtonStyle() : getUnselectedButtonStyle());
-        hardBtn.setStyle(config.getDifficulty() == Difficulty.HARD ? 
-            getSelectedButtonStyle() : getUnselectedButtonStyle());
-    }
-    
-    private String getSelectedButtonStyle() {
-        return """
-            -fx-background-color: linear-gradient(to bottom, #4ecdc4, #44a08d);
-            -fx-text-fill: white;
-            -fx-font-size: 12px;
-            -fx-font-weight: bold;
-            -fx-background-radius: 20;
-            -fx-border-radius: 20;
-            -fx-padding: 8 16 8 16;
-            -fx-cursor: hand;
-            """;
-    }
-    
-    private String getUnselectedButtonStyle() {
-        return """
-            -fx-background-color: rgba(255, 255, 255, 0.2);
-            -fx-text-fill: white;
-            -fx-font-size: 12px;
-            -fx-font-weight: bold;
-            -fx-background-radius: 20;
-            -fx-border-radius: 20;
-            -fx-border-color: rgba(255, 255, 255, 0.3);
-            -fx-border-width: 1;
-            -fx-padding: 8 16 8 16;
-            -fx-cursor: hand;
-            """;
+        easyBtn.pseudoClassStateChanged(SELECTED, config.getDifficulty() == Difficulty.EASY);
+        mediumBtn.pseudoClassStateChanged(SELECTED, config.getDifficulty() == Difficulty.MEDIUM);
+        hardBtn.pseudoClassStateChanged(SELECTED, config.getDifficulty() == Difficulty.HARD);
     }
     
     private void resetGame() {
+        ResetEvent event = new ResetEvent();
+        event.begin();
+        
         initializeGame();
-        updateCardDisplay();
+        showBoard();
         updateStatsLabel();
+        
+        if (event.shouldCommit()) {
+            event.describe(engine);
+            event.commit();
+        }
     }
     
-    private String toHexString(Color color) {
-        return String.format("#%02X%02X%02X",
-            (int) (color.getRed() * 255),
-            (int) (color.getGreen() * 255),
-            (int) (color.getBlue() * 255));
+    @Override
+    public void stop() throws IOException {
+        computer.close();
+        endReplay();
+        if (replayWriter != null) {
+            replayWriter.close();
+        }
+        // The open game stays in the journal and is restored on next start
+        if (journal != null) {
+            journal.close();
+        }
     }
     
     public static void main(String[] args) {
@@ -0,0 +1,179 @@
+package com.cfg.cardflipgame.ai;
+
+import com.cfg.cardflipgame.engine.BoardSnapshot;
+import com.cfg.cardflipgame.engine.GameConfig;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * A computer opponent that picks its cards on a thread of its own. Every
+ * decision is made against a {@link BoardSnapshot}, and only the chosen
+ * index is handed to the caller's executor, so even a slow pick on a huge
+ * board never blocks the thread that owns the engine.
+ * <p>
+ * The player only learns pair ids through {@link #observe}, i.e. from cards
+ * that were actually shown; each sighting is kept with probability
+ * {@code memoryAccuracy}. Picks are delivered no sooner than
+ * {@code reactionMillis} after they were requested. All memory lives on
+ * the worker thread, so none of it needs locking.
+ */
+public class ComputerPlayer implements Closeable {
+    
+    private final double memoryAccuracy;
+    private final long reactionMillis;
+    private final Executor callbackExecutor;
+    private final ScheduledExecutorService worker;
+    private final SplittableRandom random;
+    // Bumped by cancel(); picks requested under an older value are dropped
+    private final AtomicLong generation = new AtomicLong();
+    
+    private int[] memory = new int[0];
+    private int[] knownA = new int[0];
+    private int[] knownB = new int[0];
+    private int[] candidates = new int[0];
+    
+    public ComputerPlayer(double memoryAccuracy, long reactionMillis, long seed, Executor callbackExecutor) {
+        if (memoryAccuracy < 0 || memoryAccuracy > 1) {
+            throw new IllegalArgumentException("Memory accuracy must be between 0 and 1: " + memoryAccuracy);
+        }
+        if (reactionMillis < 0) {
+            throw new IllegalArgumentException("Reaction time must not be negative: " + reactionMillis);
+        }
+        this.memoryAccuracy = memoryAccuracy;
+        this.reactionMillis = reactionMillis;
+        this.callbackExecutor = callbackExecutor;
+        this.random = new SplittableRandom(seed);
+        this.worker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /** Forgets everything and drops pending picks. */
+    public void newGame(GameConfig config) {
+        cancel();
+        int cards = config.getTotalCards();
+        int pairs = config.getTotalPairs();
+        worker.execute(() -> {
+            if (memory.length != cards) {
+                memory = new int[cards];
+                knownA = new int[pairs];
+                knownB = new int[pairs];
+                candidates = new int[cards];
+            }
+            Arrays.fill(memory, -1);
+            Arrays.fill(knownA, -1);
+            Arrays.fill(knownB, -1);
+        });
+    }
+    
+    /** Drops every pick that has been requested but not yet delivered. */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+    
+    /** Shows the player a card that was turned face up, by anyone. */
+    public void observe(int cardIndex, int pair) {
+        worker.execute(() -> {
+            if (memory[cardIndex] >= 0 || random.nextDouble() >= memoryAccuracy) return;
+            
+            memory[cardIndex] = pair;
+            if (knownA[pair] < 0) {
+                knownA[pair] = cardIndex;
+            } else if (knownA[pair] != cardIndex) {
+                knownB[pair] = cardIndex;
+            }
+        });
+    }
+    
+    /**
+     * Picks the next card for {@code snapshot}: the second card of the turn
+     * if one card is already face up, otherwise the first. The pick is
+     * passed to {@code onPick} on the callback executor.
+     */
+    public void requestPick(BoardSnapshot snapshot, IntConsumer onPick) {
+        long requested = System.nanoTime();
+        long requestGeneration = generation.get();
+        worker.execute(() -> {
+            if (generation.get() != requestGeneration) return;
+            
+            int first = snapshot.getFlipped(0);
+            int pick = first >= 0 ? pickSecond(snapshot, first) : pickFirst(snapshot);
+            Runnable deliver = () -> callbackExecutor.execute(() -> {
+                if (generation.get() == requestGeneration) {
+                    onPick.accept(pick);
+                }
+            });
+            
+            long remaining = reactionMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requested);
+            if (remaining > 0) {
+                worker.schedule(deliver, remaining, TimeUnit.MILLISECONDS);
+            } else {
+                deliver.run();
+            }
+        });
+    }
+    
+    private int pickFirst(BoardSnapshot snapshot) {
+        for (int pair = 0; pair < knownA.length; pair++) {
+            int a = knownA[pair];
+            int b = knownB[pair];
+            if (a >= 0 && b >= 0 && !snapshot.isFaceUp(a) && !snapshot.isFaceUp(b)) {
+                return a;
+            }
+        }
+        return randomFaceDown(snapshot, -1);
+    }
+    
+    private int pickSecond(BoardSnapshot snapshot, int first) {
+        // The first card is face up, so its pair id is fair to read
+        int pair = snapshot.getCard(first);
+        int partner = knownA[pair] == first ? knownB[pair] : knownA[pair];
+        if (partner >= 0 && partner != first && !snapshot.isFaceUp(partner)) {
+            return partner;
+        }
+        return randomFaceDown(snapshot, first);
+    }
+    
+    /** A face-down card other than {@code exclude}, preferring ones not in memory. */
+    private int randomFaceDown(BoardSnapshot snapshot, int exclude) {
+        int unseen = 0;
+        int faceDown = 0;
+        for (int i = 0; i < memory.length; i++) {
+            if (i == exclude || snapshot.isFaceUp(i)) continue;
+            
+            // Unseen cards fill the buffer from the front, remembered ones from the back
+            if (memory[i] < 0) {
+                candidates[unseen++] = i;
+            } else {
+                candidates[candidates.length - 1 - (faceDown - unseen)] = i;
+            }
+            faceDown++;
+        }
+        if (unseen > 0) {
+            return candidates[random.nextInt(unseen)];
+        }
+        if (faceDown > 0) {
+            return candidates[candidates.length - 1 - random.nextInt(faceDown)];
+        }
+        throw new IllegalStateException("No face-down card left to pick");
+    }
+    
+    public double getMemoryAccuracy() { return memoryAccuracy; }
+    public long getReactionMillis() { return reactionMillis; }
+    
+    @Override
+    public void close() {
+        cancel();
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.cfg.cardflipgame.deals;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read side of a bulk deal file: fixed-size records of bit-packed layouts
+ * behind a 64-byte header, memory-mapped in segments so files of any size
+ * are read without copying them onto the heap.
+ * <pre>
+ *   "CFGD", version, 3 bytes padding
+ *   int difficulty ordinal, int rows, int cols, int bits per card, int record bytes
+ *   long deal count, long base seed, 16 bytes shuffle name (ASCII, zero padded)
+ *   per deal: cards × bits-per-card pair ids, little-endian bit order
+ * </pre>
+ * Deal {@code i} is the board the engine deals for {@link #seedFor seedFor(baseSeed, i)}
+ * with the named shuffle source, so any deal can be played or replayed by seed alone.
+ */
+public class DealFile {
+    
+    static final byte[] MAGIC = {'C', 'F', 'G', 'D'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int NAME_BYTES = 16;
+    static final int SEGMENT_BYTES = 1 << 30;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    
+    private final Difficulty difficulty;
+    private final int rows, cols;
+    private final int bitsPerCard;
+    private final int recordBytes;
+    private final long count;
+    private final long baseSeed;
+    private final String shuffleName;
+    private final long recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+    
+    private DealFile(FileChannel channel) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header.get(i) != MAGIC[i]) {
+                throw new IllegalArgumentException("Not a deal file");
+            }
+        }
+        if (header.get(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported deal file version: " + header.get(4));
+        }
+        difficulty = DIFFICULTIES[header.getInt(8)];
+        rows = header.getInt(12);
+        cols = header.getInt(16);
+        bitsPerCard = header.getInt(20);
+        recordBytes = header.getInt(24);
+        count = header.getLong(28);
+        baseSeed = header.getLong(36);
+        byte[] name = new byte[NAME_BYTES];
+        header.get(44, name);
+        int length = 0;
+        while (length < NAME_BYTES && name[length] != 0) length++;
+        shuffleName = new String(name, 0, length, StandardCharsets.US_ASCII);
+        
+        recordsPerSegment = SEGMENT_BYTES / recordBytes;
+        segments = new MappedByteBuffer[(int) ((count + recordsPerSegment - 1) / recordsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = i * recordsPerSegment;
+            long records = Math.min(recordsPerSegment, count - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * recordBytes, records * recordBytes);
+        }
+    }
+    
+    public static DealFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DealFile(channel);
+        }
+    }
+    
+    /** Seed of deal {@code index} in a file generated from {@code baseSeed}. */
+    public static long seedFor(long baseSeed, long index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /** Bits needed to store a pair id of a board with {@code pairs} pairs. */
+    static int bitsPerCard(int pairs) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(pairs - 1));
+    }
+    
+    /** Decodes deal {@code index} into {@code layout}, one pair id per card. */
+    public void read(long index, int[] layout) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Deal " + index + " of " + count);
+        }
+        MappedByteBuffer segment = segments[(int) (index / recordsPerSegment)];
+        int offset = (int) (index % recordsPerSegment) * recordBytes;
+        
+        long window = 0;
+        int available = 0;
+        int mask = (1 << bitsPerCard) - 1;
+        for (int card = 0; card < layout.length; card++) {
+            while (available < bitsPerCard) {
+                window |= (long) (segment.get(offset++) & 0xFF) << available;
+                available += 8;
+            }
+            layout[card] = (int) (window & mask);
+            window >>>= bitsPerCard;
+            available -= bitsPerCard;
+        }
+    }
+    
+    public GameConfig toConfig() {
+        return difficulty == Difficulty.CUSTOM ? GameConfig.createCustom(rows, cols) : GameConfig.of(difficulty);
+    }
+    
+    public Difficulty getDifficulty() { return difficulty; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getCardCount() { return rows * cols; }
+    public long getCount() { return count; }
+    public long getBaseSeed() { return baseSeed; }
+    public String getShuffleName() { return shuffleName; }
+    public int getRecordBytes() { return recordBytes; }
+}
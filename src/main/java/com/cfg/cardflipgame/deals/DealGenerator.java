@@ -0,0 +1,149 @@
+package com.cfg.cardflipgame.deals;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.ShuffleRng;
+import com.cfg.cardflipgame.sim.MonteCarloSimulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Writes {@link DealFile}s in parallel. The file is sized up front and
+ * every worker shuffles with its own engine straight into its own mapped
+ * slice, so nothing but one engine per thread lives on the heap.
+ */
+public final class DealGenerator {
+    
+    private static final long DEALS_PER_CHUNK = 1 << 16;
+    
+    private DealGenerator() {
+    }
+    
+    public static void generate(Path file, GameConfig config, long count, long baseSeed,
+                                Supplier<ShuffleRng> shuffles, ForkJoinPool pool) throws IOException {
+        int cards = config.getTotalCards();
+        int bits = DealFile.bitsPerCard(config.getTotalPairs());
+        int recordBytes = (cards * bits + 7) / 8;
+        String shuffleName = shuffles.get().getName();
+        byte[] name = shuffleName.getBytes(StandardCharsets.US_ASCII);
+        if (name.length > DealFile.NAME_BYTES) {
+            throw new IllegalArgumentException("Shuffle name too long for the header: " + shuffleName);
+        }
+        
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = DealFile.HEADER_SIZE + count * recordBytes;
+            // Size the file once so concurrent mappings never extend it
+            channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            
+            ThreadLocal<GameEngine> engines = ThreadLocal.withInitial(
+                () -> new GameEngine(config, new Random(0), shuffles.get()));
+            long chunks = (count + DEALS_PER_CHUNK - 1) / DEALS_PER_CHUNK;
+            try {
+                pool.submit(() -> LongStream.range(0, chunks).parallel().forEach(chunk -> {
+                    long first = chunk * DEALS_PER_CHUNK;
+                    long deals = Math.min(DEALS_PER_CHUNK, count - first);
+                    try {
+                        MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE,
+                            DealFile.HEADER_SIZE + first * recordBytes, deals * recordBytes);
+                        writeDeals(out, engines.get(), first, deals, baseSeed, bits);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })).join();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            // The header goes last, so an interrupted run never looks complete
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, DealFile.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.put(4, DealFile.VERSION);
+            header.putInt(8, config.getDifficulty().ordinal());
+            header.putInt(12, config.getGridRows());
+            header.putInt(16, config.getGridCols());
+            header.putInt(20, bits);
+            header.putInt(24, recordBytes);
+            header.putLong(28, count);
+            header.putLong(36, baseSeed);
+            header.put(44, name);
+            header.put(0, DealFile.MAGIC);
+            header.force();
+        }
+    }
+    
+    private static void writeDeals(MappedByteBuffer out, GameEngine engine, long first, long deals,
+                                   long baseSeed, int bits) {
+        int cards = engine.getConfig().getTotalCards();
+        int pos = 0;
+        for (long i = 0; i < deals; i++) {
+            engine.deal(DealFile.seedFor(baseSeed, first + i));
+            
+            long window = 0;
+            int filled = 0;
+            for (int card = 0; card < cards; card++) {
+                window |= (long) engine.getCard(card) << filled;
+                filled += bits;
+                while (filled >= 8) {
+                    out.put(pos++, (byte) window);
+                    window >>>= 8;
+                    filled -= 8;
+                }
+            }
+            if (filled > 0) {
+                out.put(pos++, (byte) window);
+            }
+        }
+    }
+    
+    /**
+     * Usage: {@code --deals=1000000 --out=deals [--difficulties=EASY,MEDIUM,HARD]
+     * [--shuffle=splitmix64] [--seed=1] [--threads=n]}. Writes
+     * {@code <out>/<difficulty>.cfgd} for each difficulty.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> named = MonteCarloSimulator.parseNamed(args);
+        long count = Long.parseLong(named.getOrDefault("deals", "1000000"));
+        Path out = Path.of(named.getOrDefault("out", "deals"));
+        List<String> difficulties = Arrays.asList(named.getOrDefault("difficulties", "EASY,MEDIUM,HARD").split(","));
+        String shuffle = named.getOrDefault("shuffle", "splitmix64");
+        long baseSeed = Long.parseLong(named.getOrDefault("seed", String.valueOf(System.nanoTime())));
+        int threads = Integer.parseInt(named.getOrDefault("threads",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        for (String name : difficulties) {
+            GameConfig config = GameConfig.of(Difficulty.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            Path file = out.resolve(config.getDifficulty().name().toLowerCase(Locale.ROOT) + ".cfgd");
+            
+            long start = System.nanoTime();
+            generate(file, config, count, baseSeed, () -> ShuffleRng.parse(shuffle), pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %d deals, %d bytes each, %s, %.0f deals/sec%n",
+                file, count, (config.getTotalCards() * DealFile.bitsPerCard(config.getTotalPairs()) + 7) / 8,
+                shuffle, count / seconds);
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,192 @@
+package com.cfg.cardflipgame.deals;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.ShuffleRng;
+import com.cfg.cardflipgame.sim.MonteCarloSimulator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Chi-square test of the shuffle: counts how often every pair id lands on
+ * every position and compares that with the uniform expectation of
+ * {@code 2 / cards} per deal. The statistic is corrected for the deals being
+ * permutations, so a fair shuffle is rejected at the nominal rate. Runs in parallel over seeds derived exactly
+ * like a {@link DealFile}, or over the deals of an existing file.
+ */
+public final class ShuffleUniformity {
+    
+    private static final long DEALS_PER_CHUNK = 1 << 16;
+    
+    /** Chi-square statistic, degrees of freedom and upper-tail p-value of one run. */
+    public static final class Result {
+        private final double chiSquare;
+        private final long degreesOfFreedom;
+        private final double maxRelativeDeviation;
+        private final long deals;
+        
+        Result(double chiSquare, long degreesOfFreedom, double maxRelativeDeviation, long deals) {
+            this.chiSquare = chiSquare;
+            this.degreesOfFreedom = degreesOfFreedom;
+            this.maxRelativeDeviation = maxRelativeDeviation;
+            this.deals = deals;
+        }
+        
+        public double getChiSquare() { return chiSquare; }
+        public long getDegreesOfFreedom() { return degreesOfFreedom; }
+        public double getMaxRelativeDeviation() { return maxRelativeDeviation; }
+        public long getDeals() { return deals; }
+        
+        public double getPValue() {
+            return upperTail(chiSquare, degreesOfFreedom);
+        }
+    }
+    
+    private ShuffleUniformity() {
+    }
+    
+    /** Shuffles {@code deals} boards from {@code baseSeed} and tests the position × pair counts. */
+    public static Result test(GameConfig config, long deals, long baseSeed,
+                              Supplier<ShuffleRng> shuffles, ForkJoinPool pool) {
+        int cards = config.getTotalCards();
+        int pairs = config.getTotalPairs();
+        long chunks = (deals + DEALS_PER_CHUNK - 1) / DEALS_PER_CHUNK;
+        
+        long[] counts = pool.submit(() -> LongStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            GameEngine engine = new GameEngine(config, new Random(0), shuffles.get());
+            long[] local = new long[cards * pairs];
+            long first = chunk * DEALS_PER_CHUNK;
+            long last = Math.min(deals, first + DEALS_PER_CHUNK);
+            for (long i = first; i < last; i++) {
+                engine.deal(DealFile.seedFor(baseSeed, i));
+                for (int card = 0; card < cards; card++) {
+                    local[card * pairs + engine.getCard(card)]++;
+                }
+            }
+            return local;
+        }).reduce(ShuffleUniformity::add).orElseGet(() -> new long[cards * pairs])).join();
+        
+        return evaluate(counts, cards, pairs, deals);
+    }
+    
+    /** Tests the deals stored in {@code file}. */
+    public static Result test(DealFile file) {
+        int cards = file.getCardCount();
+        int pairs = cards / 2;
+        long chunks = (file.getCount() + DEALS_PER_CHUNK - 1) / DEALS_PER_CHUNK;
+        
+        long[] counts = LongStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            int[] layout = new int[cards];
+            long[] local = new long[cards * pairs];
+            long first = chunk * DEALS_PER_CHUNK;
+            long last = Math.min(file.getCount(), first + DEALS_PER_CHUNK);
+            for (long i = first; i < last; i++) {
+                file.read(i, layout);
+                for (int card = 0; card < cards; card++) {
+                    local[card * pairs + layout[card]]++;
+                }
+            }
+            return local;
+        }).reduce(ShuffleUniformity::add).orElseGet(() -> new long[cards * pairs]);
+        
+        return evaluate(counts, cards, pairs, file.getCount());
+    }
+    
+    private static long[] add(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+    
+    private static Result evaluate(long[] counts, int cards, int pairs, long deals) {
+        double expected = 2.0 * deals / cards;
+        double chiSquare = 0;
+        double maxDeviation = 0;
+        for (long observed : counts) {
+            double delta = observed - expected;
+            chiSquare += delta * delta / expected;
+            maxDeviation = Math.max(maxDeviation, Math.abs(delta) / expected);
+        }
+        // The cells are not an independent contingency table: a deal puts exactly
+        // one pair id on every position, so the raw statistic has mean
+        // cards * (pairs - 1). Scaled by (cards - 1) / cards it follows chi-square
+        // with (cards - 1) * (pairs - 1) degrees of freedom.
+        chiSquare *= (cards - 1.0) / cards;
+        long degreesOfFreedom = (long) (cards - 1) * (pairs - 1);
+        return new Result(chiSquare, degreesOfFreedom, maxDeviation, deals);
+    }
+    
+    /**
+     * P(X ≥ x) for a chi-square variable with {@code k} degrees of freedom,
+     * using the Wilson–Hilferty normal approximation (accurate for k ≥ 10).
+     */
+    static double upperTail(double x, long k) {
+        double mean = 1 - 2.0 / (9 * k);
+        double z = (Math.cbrt(x / k) - mean) / Math.sqrt(2.0 / (9 * k));
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+    
+    // Chebyshev fit from Numerical Recipes, relative error below 1.2e-7
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+            + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+            + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2 - r;
+    }
+    
+    /**
+     * Usage: {@code --difficulty=EASY --deals=10000000 [--shuffle=splitmix64]
+     * [--seed=1] [--threads=n] [--alpha=0.001]}, or {@code --file=deals/easy.cfgd}
+     * to test a generated file. Exits with status 1 if uniformity is rejected.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> named = MonteCarloSimulator.parseNamed(args);
+        double alpha = Double.parseDouble(named.getOrDefault("alpha", "0.001"));
+        
+        long start = System.nanoTime();
+        Result result;
+        String subject;
+        if (named.containsKey("file")) {
+            DealFile file = DealFile.open(Path.of(named.get("file")));
+            result = test(file);
+            subject = named.get("file") + " (" + file.getShuffleName() + ")";
+        } else {
+            GameConfig config = named.containsKey("rows")
+                ? GameConfig.createCustom(Integer.parseInt(named.get("rows")),
+                    Integer.parseInt(named.getOrDefault("cols", named.get("rows"))))
+                : GameConfig.of(Difficulty.valueOf(named.getOrDefault("difficulty", "EASY")));
+            long deals = Long.parseLong(named.getOrDefault("deals", "10000000"));
+            long seed = Long.parseLong(named.getOrDefault("seed", String.valueOf(System.nanoTime())));
+            String shuffle = named.getOrDefault("shuffle", "splitmix64");
+            int threads = Integer.parseInt(named.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+            
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            result = test(config, deals, seed, () -> ShuffleRng.parse(shuffle), pool);
+            pool.shutdown();
+            subject = String.format("%s %d×%d, %s, seed=%d", config.getDifficultyName(),
+                config.getGridRows(), config.getGridCols(), shuffle, seed);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        double p = result.getPValue();
+        System.out.println(subject);
+        System.out.printf("%d deals, %.0f deals/sec%n", result.getDeals(), result.getDeals() / seconds);
+        System.out.printf("chi² = %.1f, df = %d, p = %.4f, max deviation = %.3f%%%n",
+            result.getChiSquare(), result.getDegreesOfFreedom(), p, result.getMaxRelativeDeviation() * 100);
+        System.out.println(p < alpha ? "REJECTED: shuffle is not uniform at alpha=" + alpha : "OK: consistent with uniform");
+        if (p < alpha) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * Helpers for boards packed one bit per card into {@code long[]} words.
+ */
+final class Bits {
+    
+    private Bits() {
+    }
+    
+    static long[] forCards(int cards) {
+        return new long[(cards + 63) >>> 6];
+    }
+    
+    static boolean get(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+    
+    static void set(long[] words, int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+    
+    static void clear(long[] words, int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+    
+    static int count(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * Immutable view of a board at one point in time. Taking a snapshot copies
+ * nothing; the engine copies its arrays lazily on the next write instead.
+ */
+public final class BoardSnapshot {
+    
+    private final GameConfig config;
+    private final PackedCards cards;
+    private final long[] solved;
+    private final long[] revealed;
+    private final int moves;
+    private final int flipped0, flipped1;
+    
+    BoardSnapshot(GameConfig config, PackedCards cards, long[] solved, long[] revealed,
+                  int moves, int flipped0, int flipped1) {
+        this.config = config;
+        this.cards = cards;
+        this.solved = solved;
+        this.revealed = revealed;
+        this.moves = moves;
+        this.flipped0 = flipped0;
+        this.flipped1 = flipped1;
+    }
+    
+    public GameConfig getConfig() { return config; }
+    public int getCard(int cardIndex) { return cards.get(cardIndex); }
+    public boolean isSolved(int cardIndex) { return Bits.get(solved, cardIndex); }
+    public boolean isRevealed(int cardIndex) { return Bits.get(revealed, cardIndex); }
+    public boolean isFaceUp(int cardIndex) { return isSolved(cardIndex) || isRevealed(cardIndex); }
+    public int getFlipped(int slot) { return slot == 0 ? flipped0 : flipped1; }
+    public int getMoves() { return moves; }
+    public int getMatchedPairs() { return Bits.count(solved) / 2; }
+    public boolean isWon() { return Bits.count(solved) == config.getTotalCards(); }
+}
@@ -0,0 +1,5 @@
+package com.cfg.cardflipgame.engine;
+
+public enum Difficulty {
+    EASY, MEDIUM, HARD, CUSTOM
+}
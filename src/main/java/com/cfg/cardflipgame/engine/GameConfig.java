@@ -0,0 +1,77 @@
+package com.cfg.cardflipgame.engine;
+
+public class GameConfig {
+    
+    public enum Renderer {
+        BUTTONS, CANVAS
+    }
+    
+    // Above this many cards the per-node board gets too heavy to lay out and style
+    private static final int CANVAS_THRESHOLD = 100;
+    
+    private final Difficulty difficulty;
+    private final int gridRows, gridCols, totalPairs, totalCards;
+    private final String difficultyName, description;
+    private final Renderer renderer;
+    
+    public GameConfig(Difficulty diff, int rows, int cols, String name, String desc) {
+        this(diff, rows, cols, name, desc, Renderer.BUTTONS);
+    }
+    
+    public GameConfig(Difficulty diff, int rows, int cols, String name, String desc, Renderer renderer) {
+        long cards = (long) rows * cols;
+        if (rows <= 0 || cols <= 0 || cards % 2 != 0 || cards > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board must have a positive, even number of cards: "
+                + rows + "×" + cols);
+        }
+        this.difficulty = diff;
+        this.gridRows = rows;
+        this.gridCols = cols;
+        this.totalCards = (int) cards;
+        this.totalPairs = totalCards / 2;
+        this.difficultyName = name;
+        this.description = desc;
+        this.renderer = renderer;
+    }
+    
+    public static GameConfig createEasy() {
+        return new GameConfig(Difficulty.EASY, 4, 4, "Easy", "4×4 Grid • 8 Unique Pairs");
+    }
+    
+    public static GameConfig createMedium() {
+        return new GameConfig(Difficulty.MEDIUM, 6, 6, "Medium", "6×6 Grid • 18 Unique Pairs");
+    }
+    
+    public static GameConfig createHard() {
+        return new GameConfig(Difficulty.HARD, 8, 8, "Hard", "8×8 Grid • 32 Unique Pairs");
+    }
+    
+    public static GameConfig createCustom(int rows, int cols) {
+        long cards = (long) rows * cols;
+        Renderer renderer = cards > CANVAS_THRESHOLD ? Renderer.CANVAS : Renderer.BUTTONS;
+        return new GameConfig(Difficulty.CUSTOM, rows, cols, "Custom",
+            "%d×%d Grid • %d Unique Pairs".formatted(rows, cols, cards / 2), renderer);
+    }
+    
+    public static GameConfig of(Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> createEasy();
+            case MEDIUM -> createMedium();
+            case HARD -> createHard();
+            case CUSTOM -> throw new IllegalArgumentException("Custom boards need explicit rows and cols");
+        };
+    }
+    
+    public GameConfig withRenderer(Renderer renderer) {
+        return new GameConfig(difficulty, gridRows, gridCols, difficultyName, description, renderer);
+    }
+    
+    public Difficulty getDifficulty() { return difficulty; }
+    public int getGridRows() { return gridRows; }
+    public int getGridCols() { return gridCols; }
+    public int getTotalPairs() { return totalPairs; }
+    public int getTotalCards() { return totalCards; }
+    public String getDifficultyName() { return difficultyName; }
+    public String getDescription() { return description; }
+    public Renderer getRenderer() { return renderer; }
+}
@@ -0,0 +1,109 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * The turn state machine on top of a {@link GameEngine}. Clicks may arrive
+ * at any rate: each one either flips a card or is rejected, and a
+ * completed pair stays face up for its delay on the {@link GameScheduler}
+ * before it is resolved. {@link #start} cancels whatever the previous deal
+ * still had pending, and every resolution also checks that its deal is
+ * still the current one.
+ */
+public class GameController {
+    
+    /** Notified on the thread that drives the controller. */
+    public interface Listener {
+        
+        /** A click turned a card face up; {@code result} is never IGNORED. */
+        default void flipped(int cardIndex, GameEngine.FlipResult result) {
+        }
+        
+        /** A matching pair was resolved and is now solved. */
+        default void matched(int card1, int card2) {
+        }
+        
+        /** A mismatched pair was resolved and is face down again. */
+        default void mismatched(int card1, int card2) {
+        }
+    }
+    
+    private final GameScheduler scheduler;
+    private final Listener listener;
+    private GameEngine engine;
+    private long matchDelayMillis = 500;
+    private long mismatchDelayMillis = 1000;
+    private long dealGeneration = 0;
+    private boolean resolving = false;
+    
+    public GameController(GameScheduler scheduler, Listener listener) {
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+    
+    public void setDelays(long matchDelayMillis, long mismatchDelayMillis) {
+        this.matchDelayMillis = matchDelayMillis;
+        this.mismatchDelayMillis = mismatchDelayMillis;
+    }
+    
+    /**
+     * Plays {@code engine} from its current state, e.g. after a deal or a
+     * restore. A pair left pending by an earlier game is dropped unresolved.
+     */
+    public void start(GameEngine engine) {
+        scheduler.cancelAll();
+        dealGeneration++;
+        this.engine = engine;
+        resolving = engine.isPending();
+        if (resolving) {
+            schedule(engine.getFlipped(0), engine.getFlipped(1));
+        }
+    }
+    
+    /** Flips the card unless the click has to be rejected. */
+    public GameEngine.FlipResult click(int cardIndex) {
+        if (engine == null || cardIndex < 0 || cardIndex >= engine.getConfig().getTotalCards()) {
+            return GameEngine.FlipResult.IGNORED;
+        }
+        
+        GameEngine.FlipResult result = engine.flip(cardIndex);
+        if (result == GameEngine.FlipResult.IGNORED) {
+            return result;
+        }
+        
+        listener.flipped(cardIndex, result);
+        if (result != GameEngine.FlipResult.FIRST) {
+            resolving = true;
+            schedule(engine.getFlipped(0), engine.getFlipped(1));
+        }
+        return result;
+    }
+    
+    private void schedule(int card1, int card2) {
+        boolean match = engine.getCard(card1) == engine.getCard(card2);
+        long delayMillis = match ? matchDelayMillis : mismatchDelayMillis;
+        long generation = dealGeneration;
+        Runnable resolution = () -> resolve(generation, card1, card2);
+        
+        if (delayMillis <= 0) {
+            resolution.run();
+        } else {
+            scheduler.schedule(delayMillis, resolution);
+        }
+    }
+    
+    private void resolve(long generation, int card1, int card2) {
+        // A pair from a replaced deal must not touch the current one
+        if (generation != dealGeneration || !engine.isPending()) return;
+        
+        resolving = false;
+        if (engine.resolve()) {
+            listener.matched(card1, card2);
+        } else {
+            listener.mismatched(card1, card2);
+        }
+    }
+    
+    public GameEngine getEngine() { return engine; }
+    
+    /** Whether a pair is face up and waiting for its resolution. */
+    public boolean isResolving() { return resolving; }
+}
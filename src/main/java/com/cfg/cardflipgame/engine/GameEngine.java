@@ -0,0 +1,266 @@
+package com.cfg.cardflipgame.engine;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * UI-free game rules: dealing, flipping, pair resolution and win detection.
+ * A turn is two {@link #flip} calls followed by {@link #resolve()}; the caller
+ * decides how long the pair stays face up in between.
+ * <p>
+ * Solved and revealed cards are bitsets and pair ids are packed as narrowly
+ * as the pair count allows. {@link #snapshot()} shares those arrays with
+ * the snapshot and the engine copies them before its next write.
+ * <p>
+ * Every card whose face-up or solved state changes is added to a change
+ * set that a view drains with {@link #drainChanges}, so it only touches
+ * the cards that actually look different.
+ */
+public class GameEngine {
+    
+    public enum FlipResult {
+        IGNORED, FIRST, MATCH, MISMATCH
+    }
+    
+    private final GameConfig config;
+    private final RandomGenerator random;
+    private final ShuffleRng shuffleRng;
+    private PackedCards cards;
+    private long[] solved;
+    private long[] revealed;
+    private long seed;
+    private boolean seeded = false;
+    private boolean cardsShared = false;
+    private boolean bitsShared = false;
+    private final int[] flipped = new int[2];
+    private int flippedCount = 0;
+    private boolean gameWon = false;
+    private int moves = 0;
+    private final long[] changedBits;
+    private final int[] changed;
+    private int changedCount = 0;
+    
+    public GameEngine(GameConfig config) {
+        this(config, new Random());
+    }
+    
+    public GameEngine(GameConfig config, RandomGenerator random) {
+        this(config, random, ShuffleRng.splitMix64());
+    }
+    
+    /**
+     * An engine whose seeded deals shuffle with {@code shuffleRng};
+     * {@code random} only picks the seeds of unseeded deals.
+     */
+    public GameEngine(GameConfig config, RandomGenerator random, ShuffleRng shuffleRng) {
+        this.config = config;
+        this.random = random;
+        this.shuffleRng = shuffleRng;
+        this.cards = new PackedCards(config.getTotalCards(), config.getTotalPairs());
+        this.solved = Bits.forCards(config.getTotalCards());
+        this.revealed = Bits.forCards(config.getTotalCards());
+        this.changedBits = Bits.forCards(config.getTotalCards());
+        this.changed = new int[config.getTotalCards()];
+        // Not deal(): an overridable call here would run before a subclass is initialized
+        dealSeeded(random.nextLong());
+    }
+    
+    public void deal() {
+        deal(random.nextLong());
+    }
+    
+    /**
+     * Deals the board determined by {@code seed}. With the default
+     * {@link ShuffleRng#splitMix64()} source a seed gives the same board on
+     * every JDK.
+     */
+    public void deal(long seed) {
+        dealSeeded(seed);
+    }
+    
+    private void dealSeeded(long seed) {
+        unshareCards();
+        for (int i = 0; i < config.getTotalPairs(); i++) {
+            cards.set(i * 2, i);
+            cards.set(i * 2 + 1, i);
+        }
+        this.seed = seed;
+        this.seeded = true;
+        fisherYatesShuffle(seed);
+        resetState();
+    }
+    
+    /**
+     * Deals a fixed layout instead of shuffling. Each pair id in
+     * {@code 0..totalPairs-1} must appear exactly twice.
+     */
+    public void deal(int[] layout) {
+        if (layout.length != cards.length()) {
+            throw new IllegalArgumentException("Layout has " + layout.length
+                + " cards, expected " + cards.length());
+        }
+        int[] seen = new int[config.getTotalPairs()];
+        for (int pair : layout) {
+            if (pair < 0 || pair >= seen.length || ++seen[pair] > 2) {
+                throw new IllegalArgumentException("Invalid pair id in layout: " + pair);
+            }
+        }
+        unshareCards();
+        for (int i = 0; i < layout.length; i++) {
+            cards.set(i, layout[i]);
+        }
+        seeded = false;
+        resetState();
+    }
+    
+    private void fisherYatesShuffle(long seed) {
+        shuffleRng.reseed(seed);
+        for (int i = cards.length() - 1; i > 0; i--) {
+            int j = shuffleRng.nextIndex(i + 1);
+            cards.swap(i, j);
+        }
+    }
+    
+    private void resetState() {
+        // Face-down cards look alike, so only the ones turning back over change
+        for (int w = 0; w < solved.length; w++) {
+            long faceUp = solved[w] | revealed[w];
+            while (faceUp != 0) {
+                markChanged((w << 6) + Long.numberOfTrailingZeros(faceUp));
+                faceUp &= faceUp - 1;
+            }
+        }
+        if (bitsShared) {
+            solved = Bits.forCards(config.getTotalCards());
+            revealed = Bits.forCards(config.getTotalCards());
+            bitsShared = false;
+        } else {
+            Arrays.fill(solved, 0L);
+            Arrays.fill(revealed, 0L);
+        }
+        flipped[0] = flipped[1] = -1;
+        flippedCount = 0;
+        gameWon = false;
+        moves = 0;
+    }
+    
+    /**
+     * Turns a card face up. The second card of a turn counts a move and
+     * reports whether it matches; further flips are ignored until
+     * {@link #resolve()} is called.
+     */
+    public FlipResult flip(int cardIndex) {
+        Objects.checkIndex(cardIndex, config.getTotalCards());
+        if (gameWon || flippedCount == 2 || isFaceUp(cardIndex)) {
+            return FlipResult.IGNORED;
+        }
+        
+        unshareBits();
+        Bits.set(revealed, cardIndex);
+        markChanged(cardIndex);
+        flipped[flippedCount++] = cardIndex;
+        
+        if (flippedCount == 1) {
+            return FlipResult.FIRST;
+        }
+        
+        moves++;
+        return cards.get(flipped[0]) == cards.get(flipped[1]) ? FlipResult.MATCH : FlipResult.MISMATCH;
+    }
+    
+    /**
+     * Settles the pending pair: a match is marked solved, a mismatch is
+     * turned back face down. Returns {@code true} on a match.
+     */
+    public boolean resolve() {
+        if (flippedCount != 2) {
+            throw new IllegalStateException("No pair is waiting to be resolved");
+        }
+        
+        int card1 = flipped[0];
+        int card2 = flipped[1];
+        boolean match = cards.get(card1) == cards.get(card2);
+        
+        unshareBits();
+        if (match) {
+            Bits.set(solved, card1);
+            Bits.set(solved, card2);
+            gameWon = Bits.count(solved) == config.getTotalCards();
+        } else {
+            Bits.clear(revealed, card1);
+            Bits.clear(revealed, card2);
+        }
+        markChanged(card1);
+        markChanged(card2);
+        
+        flippedCount = 0;
+        flipped[0] = flipped[1] = -1;
+        return match;
+    }
+    
+    /** A frozen copy of the board; O(1) until the engine next changes. */
+    public BoardSnapshot snapshot() {
+        cardsShared = true;
+        bitsShared = true;
+        return new BoardSnapshot(config, cards, solved, revealed, moves, flipped[0], flipped[1]);
+    }
+    
+    private void markChanged(int cardIndex) {
+        if (!Bits.get(changedBits, cardIndex)) {
+            Bits.set(changedBits, cardIndex);
+            changed[changedCount++] = cardIndex;
+        }
+    }
+    
+    /**
+     * Passes every card changed since the last drain to {@code consumer},
+     * once each and in the order they first changed, then empties the set.
+     */
+    public void drainChanges(IntConsumer consumer) {
+        for (int i = 0; i < changedCount; i++) {
+            int cardIndex = changed[i];
+            Bits.clear(changedBits, cardIndex);
+            consumer.accept(cardIndex);
+        }
+        changedCount = 0;
+    }
+    
+    /** Empties the change set, e.g. after a view has redrawn every card. */
+    public void clearChanges() {
+        drainChanges(cardIndex -> { });
+    }
+    
+    private void unshareCards() {
+        if (cardsShared) {
+            cards = cards.copy();
+            cardsShared = false;
+        }
+    }
+    
+    private void unshareBits() {
+        if (bitsShared) {
+            solved = solved.clone();
+            revealed = revealed.clone();
+            bitsShared = false;
+        }
+    }
+    
+    public GameConfig getConfig() { return config; }
+    public long getSeed() { return seed; }
+    public boolean isSeeded() { return seeded; }
+    public String getShuffleName() { return shuffleRng.getName(); }
+    public int getCard(int cardIndex) { return cards.get(cardIndex); }
+    public boolean isSolved(int cardIndex) { return Bits.get(solved, cardIndex); }
+    public boolean isRevealed(int cardIndex) { return Bits.get(revealed, cardIndex); }
+    public boolean isFaceUp(int cardIndex) { return isSolved(cardIndex) || isRevealed(cardIndex); }
+    public int getFlipped(int slot) { return flipped[slot]; }
+    public int getFlippedCount() { return flippedCount; }
+    public boolean isPending() { return flippedCount == 2; }
+    public int getMatchedPairs() { return Bits.count(solved) / 2; }
+    public int getMoves() { return moves; }
+    public int getChangeCount() { return changedCount; }
+    public boolean isWon() { return gameWon; }
+}
@@ -0,0 +1,145 @@
+package com.cfg.cardflipgame.engine;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel that owns every delayed action of a game. It has no
+ * thread of its own: the owner calls {@link #advance()} from whatever
+ * drives the game (an FX pulse, a simulation loop, a virtual clock).
+ * {@link #cancelAll()} drops every pending task, including tasks that are
+ * already due in the tick being processed.
+ */
+public class GameScheduler {
+    
+    private static final int WHEEL_SIZE = 256;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final long DEFAULT_TICK_NANOS = 5_000_000L;
+    
+    private static final class Entry {
+        Runnable task;
+        long deadlineTick;
+        long generation;
+        Entry next;
+    }
+    
+    private final LongSupplier clock;
+    private final long tickNanos;
+    private final long originNanos;
+    private final Entry[] wheel = new Entry[WHEEL_SIZE];
+    private Entry free;
+    private Entry due;
+    private long currentTick = 0;
+    private long generation = 0;
+    private int pending = 0;
+    
+    public GameScheduler() {
+        this(System::nanoTime, DEFAULT_TICK_NANOS);
+    }
+    
+    public GameScheduler(LongSupplier clock, long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickNanos);
+        }
+        this.clock = clock;
+        this.tickNanos = tickNanos;
+        this.originNanos = clock.getAsLong();
+    }
+    
+    /**
+     * Runs {@code task} once at least {@code delayMillis} have passed. Tasks
+     * never run inside this call, even with a zero delay.
+     */
+    public void schedule(long delayMillis, Runnable task) {
+        long now = clock.getAsLong() - originNanos;
+        if (pending == 0) {
+            // The wheel is empty, so catch up with ticks nobody advanced through while idle
+            currentTick = Math.max(currentTick, now / tickNanos);
+        }
+        long deadline = (now + delayMillis * 1_000_000L + tickNanos - 1) / tickNanos;
+        
+        Entry entry = free != null ? free : new Entry();
+        free = entry.next;
+        entry.task = task;
+        entry.deadlineTick = Math.max(deadline, currentTick + 1);
+        entry.generation = generation;
+        
+        int slot = (int) (entry.deadlineTick & MASK);
+        entry.next = wheel[slot];
+        wheel[slot] = entry;
+        pending++;
+    }
+    
+    /** Drops every pending task. */
+    public void cancelAll() {
+        generation++;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            Entry entry = wheel[i];
+            wheel[i] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                recycle(entry);
+                entry = next;
+            }
+        }
+        pending = 0;
+    }
+    
+    /** Runs every task whose deadline has passed on the clock. */
+    public void advance() {
+        long targetTick = (clock.getAsLong() - originNanos) / tickNanos;
+        
+        while (currentTick < targetTick && pending > 0) {
+            currentTick++;
+            collectDue((int) (currentTick & MASK));
+            runDue();
+        }
+        if (pending == 0) {
+            // Nothing to run, so idle ticks can be skipped in one step
+            currentTick = Math.max(currentTick, targetTick);
+        }
+    }
+    
+    private void collectDue(int slot) {
+        Entry prev = null;
+        Entry entry = wheel[slot];
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.deadlineTick <= currentTick) {
+                if (prev == null) {
+                    wheel[slot] = next;
+                } else {
+                    prev.next = next;
+                }
+                // Keep scheduling order: the slot list is newest-first
+                entry.next = due;
+                due = entry;
+                pending--;
+            } else {
+                prev = entry;
+            }
+            entry = next;
+        }
+    }
+    
+    private void runDue() {
+        while (due != null) {
+            Entry entry = due;
+            due = entry.next;
+            Runnable task = entry.task;
+            boolean live = entry.generation == generation;
+            recycle(entry);
+            if (live) {
+                task.run();
+            }
+        }
+    }
+    
+    private void recycle(Entry entry) {
+        entry.task = null;
+        entry.next = free;
+        free = entry;
+    }
+    
+    public boolean isIdle() { return pending == 0; }
+    public int getPendingCount() { return pending; }
+}
@@ -0,0 +1,35 @@
+package com.cfg.cardflipgame.engine;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Shuffle source backed by a JDK random algorithm. Reseeding creates a new
+ * generator, which is cheap next to a shuffle but not free.
+ */
+final class JdkShuffleRng implements ShuffleRng {
+    
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+    private final String name;
+    private RandomGenerator generator;
+    
+    JdkShuffleRng(String algorithm) {
+        this.factory = RandomGeneratorFactory.of(algorithm);
+        this.name = algorithm;
+    }
+    
+    @Override
+    public void reseed(long seed) {
+        generator = factory.create(seed);
+    }
+    
+    @Override
+    public int nextIndex(int bound) {
+        return generator.nextInt(bound);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+}
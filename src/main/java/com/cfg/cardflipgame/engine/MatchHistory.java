@@ -0,0 +1,63 @@
+package com.cfg.cardflipgame.engine;
+
+import java.util.Objects;
+
+/**
+ * The matches of the current game, oldest first, in parallel primitive
+ * arrays used as a ring buffer. {@link #reset(int)} sizes it for the
+ * board's pair count, so a game never overwrites an entry; appends and
+ * reads are O(1) and allocate nothing.
+ */
+public class MatchHistory {
+    
+    private int[] moves = new int[0];
+    private long[] elapsedMillis = new long[0];
+    private int[] firstCards = new int[0];
+    private int[] secondCards = new int[0];
+    private int head = 0;
+    private int size = 0;
+    
+    /** Clears the history and makes room for {@code capacity} matches. */
+    public void reset(int capacity) {
+        if (moves.length < capacity) {
+            moves = new int[capacity];
+            elapsedMillis = new long[capacity];
+            firstCards = new int[capacity];
+            secondCards = new int[capacity];
+        }
+        head = 0;
+        size = 0;
+    }
+    
+    /**
+     * Appends a match; {@code elapsedMillis} is time since the game started,
+     * or -1 if unknown. When full, the oldest entry is overwritten.
+     */
+    public void add(int move, long elapsedMillis, int firstCard, int secondCard) {
+        int capacity = moves.length;
+        if (capacity == 0) {
+            throw new IllegalStateException("History has no capacity; call reset first");
+        }
+        int slot = (head + size) % capacity;
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+        } else {
+            size++;
+        }
+        moves[slot] = move;
+        this.elapsedMillis[slot] = elapsedMillis;
+        firstCards[slot] = firstCard;
+        secondCards[slot] = secondCard;
+    }
+    
+    private int slot(int index) {
+        Objects.checkIndex(index, size);
+        return (head + index) % moves.length;
+    }
+    
+    public int size() { return size; }
+    public int getMove(int index) { return moves[slot(index)]; }
+    public long getElapsedMillis(int index) { return elapsedMillis[slot(index)]; }
+    public int getFirstCard(int index) { return firstCards[slot(index)]; }
+    public int getSecondCard(int index) { return secondCards[slot(index)]; }
+}
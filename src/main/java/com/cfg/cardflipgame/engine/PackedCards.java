@@ -0,0 +1,53 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * Pair ids of a deal stored in the narrowest array that fits: one byte per
+ * card up to 256 pairs, two bytes up to 65536, four beyond that.
+ */
+final class PackedCards {
+    
+    private final byte[] bytes;
+    private final short[] shorts;
+    private final int[] ints;
+    private final int length;
+    
+    PackedCards(int length, int pairs) {
+        this.length = length;
+        this.bytes = pairs <= 1 << 8 ? new byte[length] : null;
+        this.shorts = bytes == null && pairs <= 1 << 16 ? new short[length] : null;
+        this.ints = bytes == null && shorts == null ? new int[length] : null;
+    }
+    
+    private PackedCards(PackedCards other) {
+        this.length = other.length;
+        this.bytes = other.bytes != null ? other.bytes.clone() : null;
+        this.shorts = other.shorts != null ? other.shorts.clone() : null;
+        this.ints = other.ints != null ? other.ints.clone() : null;
+    }
+    
+    int get(int index) {
+        if (bytes != null) return bytes[index] & 0xFF;
+        if (shorts != null) return shorts[index] & 0xFFFF;
+        return ints[index];
+    }
+    
+    void set(int index, int pair) {
+        if (bytes != null) bytes[index] = (byte) pair;
+        else if (shorts != null) shorts[index] = (short) pair;
+        else ints[index] = pair;
+    }
+    
+    void swap(int i, int j) {
+        int temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
+    
+    int length() {
+        return length;
+    }
+    
+    PackedCards copy() {
+        return new PackedCards(this);
+    }
+}
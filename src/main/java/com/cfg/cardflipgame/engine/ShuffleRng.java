@@ -0,0 +1,34 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * Source of shuffle indices for {@link GameEngine#deal(long)}. A source is
+ * reseeded for every deal and must produce the same sequence for the same
+ * seed. Instances are not thread-safe; every engine owns its own.
+ * <p>
+ * Seeds are only portable between engines using the same source. Replay
+ * logs and the journal assume the default {@link #splitMix64()}.
+ */
+public interface ShuffleRng {
+    
+    void reseed(long seed);
+    
+    /** Uniform in {@code [0, bound)}. */
+    int nextIndex(int bound);
+    
+    String getName();
+    
+    /** The default: SplitMix64 with Lemire's unbiased bounded draws. */
+    static ShuffleRng splitMix64() {
+        return new SplitMix64Rng();
+    }
+    
+    /** Any {@link java.util.random.RandomGeneratorFactory} algorithm, e.g. {@code L64X128MixRandom}. */
+    static ShuffleRng jdk(String algorithm) {
+        return new JdkShuffleRng(algorithm);
+    }
+    
+    /** {@code splitmix64} or the name of a JDK random algorithm. */
+    static ShuffleRng parse(String spec) {
+        return spec.equalsIgnoreCase(SplitMix64Rng.NAME) ? splitMix64() : jdk(spec);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cfg.cardflipgame.engine;
+
+/**
+ * SplitMix64 stream with Lemire's multiply-shift bounded draws. Fixed here
+ * rather than taken from the JDK so a seed deals the same board on every
+ * JDK version.
+ */
+final class SplitMix64Rng implements ShuffleRng {
+    
+    static final String NAME = "splitmix64";
+    
+    private long state;
+    
+    @Override
+    public void reseed(long seed) {
+        state = seed;
+    }
+    
+    // Lemire's multiply-shift with rejection: unbiased for every bound
+    @Override
+    public int nextIndex(int bound) {
+        long product = nextBits() * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x1_0000_0000L - bound) % bound;
+            while (low < threshold) {
+                product = nextBits() * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+    
+    private long nextBits() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 32;
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
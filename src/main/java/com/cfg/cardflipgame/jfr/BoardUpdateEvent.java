@@ -0,0 +1,14 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.BoardUpdate")
+@Label("Board Update")
+@Description("Cards changed since the last pulse applied to the board view; the duration covers every view update of that pulse")
+public class BoardUpdateEvent extends GameEvent {
+    
+    @Label("Changed Cards")
+    public int changed;
+}
@@ -0,0 +1,14 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.Deal")
+@Label("Deal")
+@Description("A new board dealt and shown; the duration covers dealing and preparing the faces")
+public class DealEvent extends GameEvent {
+    
+    @Label("Seed")
+    public long seed;
+}
@@ -0,0 +1,17 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.DifficultySwitch")
+@Label("Difficulty Switch")
+@Description("Another difficulty selected; the duration covers the new board")
+public class DifficultySwitchEvent extends GameEvent {
+    
+    @Label("From")
+    public String from;
+    
+    @Label("To")
+    public String to;
+}
@@ -0,0 +1,17 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.Flip")
+@Label("Flip")
+@Description("An accepted card flip; the duration covers the engine, replay and journal, while the view is updated in the next Board Update")
+public class FlipEvent extends GameEvent {
+    
+    @Label("Card")
+    public int card;
+    
+    @Label("Second Card")
+    public boolean second;
+}
@@ -0,0 +1,34 @@
+package com.cfg.cardflipgame.jfr;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by every game event. Callers follow the usual JFR pattern:
+ * {@code begin()}, do the work, then fill in the fields and {@code commit()}
+ * only if {@code shouldCommit()}. When recording is off, that is a single
+ * check and the event object is optimized away.
+ */
+@Category("Card Flip Game")
+@StackTrace(false)
+public abstract class GameEvent extends Event {
+    
+    @Label("Rows")
+    int rows;
+    
+    @Label("Columns")
+    int cols;
+    
+    @Label("Move")
+    int move;
+    
+    /** Copies board size and move number from the engine. */
+    public void describe(GameEngine engine) {
+        rows = engine.getConfig().getGridRows();
+        cols = engine.getConfig().getGridCols();
+        move = engine.getMoves();
+    }
+}
@@ -0,0 +1,20 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.Match")
+@Label("Match")
+@Description("A matched pair resolved; the duration covers the resolution and match history, while the cards are redrawn in the next Board Update")
+public class MatchEvent extends GameEvent {
+    
+    @Label("First Card")
+    public int card1;
+    
+    @Label("Second Card")
+    public int card2;
+    
+    @Label("Matched Pairs")
+    public int matchedPairs;
+}
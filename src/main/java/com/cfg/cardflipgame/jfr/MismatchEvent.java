@@ -0,0 +1,17 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.Mismatch")
+@Label("Mismatch")
+@Description("A mismatched pair turned back face down")
+public class MismatchEvent extends GameEvent {
+    
+    @Label("First Card")
+    public int card1;
+    
+    @Label("Second Card")
+    public int card2;
+}
@@ -0,0 +1,11 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cfg.cardflipgame.Reset")
+@Label("Reset")
+@Description("New Game pressed; the duration covers the redeal")
+public class ResetEvent extends GameEvent {
+}
@@ -0,0 +1,16 @@
+package com.cfg.cardflipgame.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.cfg.cardflipgame.Win")
+@Label("Win")
+@Description("A game won; the duration covers building the win screen")
+public class WinEvent extends GameEvent {
+    
+    @Label("Game Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long gameMillis;
+}
@@ -0,0 +1,507 @@
+package com.cfg.cardflipgame.journal;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.MatchHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped journal of deals, flips and finished games,
+ * so the current board and the result history survive a restart.
+ * <p>
+ * Records are 4-byte aligned: an int header {@code type << 24 | length}
+ * followed by a varint payload. The header is stored with release
+ * semantics after its payload and unwritten space reads as zero, so a
+ * process that dies mid-record leaves a log that ends at the last complete
+ * record. Loading clears everything past that end, so payload bytes of a
+ * torn record can never turn into headers once appends resume. Appending a
+ * flip is a handful of stores into the mapping; the OS writes pages back on
+ * its own and {@link #close()} forces them out.
+ * <p>
+ * This only survives the process dying. Records are not forced one by one,
+ * so after a power loss or OS crash the tail of the log may be missing or
+ * hold pages written out of order.
+ * Readers skip fields past what they know, so records can grow trailing
+ * fields without a version change.
+ * <p>
+ * The log lives in numbered generation files. Once a file grows past
+ * {@link #COMPACT_THRESHOLD}, the next deal starts a new generation that
+ * holds only the retained history; older generations are deleted once the
+ * new one is complete.
+ */
+public class GameJournal implements Closeable {
+    
+    static final int TYPE_DEAL = 1;
+    static final int TYPE_FLIP = 2;
+    static final int TYPE_RESULT = 3;
+    
+    private static final byte[] MAGIC = {'C', 'F', 'G', 'J'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final int MAX_PAYLOAD = 64;
+    private static final int COMPACT_THRESHOLD = 4 << 20;
+    private static final int MAX_HISTORY = 10_000;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final int RESULT_WON = 1;
+    private static final int RESULT_VERSUS = 2;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    
+    private final Path directory;
+    private FileChannel channel;
+    private MappedByteBuffer buf;
+    private long generation;
+    private int pos;
+    
+    private final Deque<GameResult> history = new ArrayDeque<>();
+    
+    // The game the log currently ends in
+    private boolean gameOpen = false;
+    private GameConfig dealConfig;
+    private long dealSeed;
+    private long dealStartMillis;
+    private boolean dealVersus;
+    private int[] dealFlips = new int[64];
+    private int dealFlipCount;
+    
+    private GameJournal(Path directory) {
+        this.directory = directory;
+    }
+    
+    /**
+     * Opens the journal in {@code directory}, reading back the newest
+     * complete generation, or starts an empty one.
+     */
+    public static GameJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        GameJournal journal = new GameJournal(directory);
+        
+        List<Path> files = journal.generationFiles();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            if (journal.load(files.get(i))) {
+                journal.deleteGenerationsBefore(journal.generation);
+                return journal;
+            }
+        }
+        journal.startGeneration(files.isEmpty() ? 1 : generationOf(files.get(files.size() - 1)) + 1);
+        journal.publishGeneration();
+        return journal;
+    }
+    
+    private List<Path> generationFiles() throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(p -> p.getFileName().toString().matches("journal-\\d+\\.cfgj"))
+                .sorted((a, b) -> Long.compare(generationOf(a), generationOf(b)))
+                .toList();
+        }
+    }
+    
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("journal-".length(), name.length() - ".cfgj".length()));
+    }
+    
+    private Path fileFor(long generation) {
+        return directory.resolve("journal-" + generation + ".cfgj");
+    }
+    
+    private boolean load(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            channel.close();
+            return false;
+        }
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        // The magic is written last, so a half-built generation has none
+        byte[] magic = new byte[MAGIC.length];
+        buf.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC) || buf.get(4) != VERSION) {
+            channel.close();
+            return false;
+        }
+        
+        this.channel = channel;
+        this.buf = buf;
+        this.generation = buf.getLong(8);
+        this.pos = HEADER_SIZE;
+        
+        while (pos + 4 <= buf.capacity()) {
+            int header = buf.getInt(pos);
+            int type = header >>> 24;
+            int length = header & 0xFFFFFF;
+            if (header == 0 || pos + 4 + length > buf.capacity()) {
+                break;
+            }
+            // A record that does not decode ends the log just like a bad header
+            try {
+                apply(type, pos + 4, pos + 4 + length);
+            } catch (CorruptRecordException e) {
+                break;
+            }
+            pos = align(pos + 4 + length);
+        }
+        clearFrom(pos);
+        return true;
+    }
+    
+    /** Zeroes the mapping from {@code from} to its end, touching only pages that are not clear yet. */
+    private void clearFrom(int from) {
+        byte[] zeros = new byte[4096];
+        boolean cleared = false;
+        for (int p = from; p < buf.capacity(); p += zeros.length) {
+            int n = Math.min(zeros.length, buf.capacity() - p);
+            if (!isClear(p, n)) {
+                buf.put(p, zeros, 0, n);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buf.force();
+        }
+    }
+    
+    private boolean isClear(int from, int length) {
+        int end = from + length;
+        int p = from;
+        for (; p + 8 <= end; p += 8) {
+            if (buf.getLong(p) != 0) return false;
+        }
+        for (; p < end; p++) {
+            if (buf.get(p) != 0) return false;
+        }
+        return true;
+    }
+    
+    /** A record whose payload does not decode, as left by a torn or lost page. */
+    private static final class CorruptRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+        
+        CorruptRecordException(String message) {
+            super(message, null, false, false);
+        }
+    }
+    
+    /** Decodes a whole record before changing any state, so a corrupt one leaves none behind. */
+    private void apply(int type, int at, int end) throws CorruptRecordException {
+        int[] cursor = {at};
+        switch (type) {
+            case TYPE_DEAL -> {
+                Difficulty difficulty = readDifficulty(cursor, end);
+                int rows = (int) readVarint(cursor, end);
+                int cols = (int) readVarint(cursor, end);
+                if (cursor[0] + 8 > end) {
+                    throw new CorruptRecordException("Deal record too short");
+                }
+                long seed = buf.getLong(cursor[0]);
+                cursor[0] += 8;
+                long startMillis = readVarint(cursor, end);
+                // Deals written before the mode was journaled end here
+                boolean versus = cursor[0] < end && readVarint(cursor, end) != 0;
+                
+                dealConfig = configFor(difficulty, rows, cols);
+                dealSeed = seed;
+                dealStartMillis = startMillis;
+                dealVersus = versus;
+                dealFlipCount = 0;
+                gameOpen = true;
+            }
+            case TYPE_FLIP -> {
+                long cardIndex = readVarint(cursor, end);
+                if (gameOpen && (cardIndex < 0 || cardIndex >= dealConfig.getTotalCards())) {
+                    throw new CorruptRecordException("Flip of card " + cardIndex + " past the board");
+                }
+                addFlip((int) cardIndex);
+            }
+            case TYPE_RESULT -> {
+                Difficulty difficulty = readDifficulty(cursor, end);
+                int rows = (int) readVarint(cursor, end);
+                int cols = (int) readVarint(cursor, end);
+                int moves = (int) readVarint(cursor, end);
+                long elapsed = readVarint(cursor, end);
+                long finishedAt = readVarint(cursor, end);
+                if (cursor[0] >= end) {
+                    throw new CorruptRecordException("Result record too short");
+                }
+                int flags = buf.get(cursor[0]);
+                remember(new GameResult(difficulty, rows, cols, moves, elapsed, finishedAt,
+                    (flags & RESULT_WON) != 0, (flags & RESULT_VERSUS) != 0));
+                gameOpen = false;
+            }
+            default -> {
+                // Unknown records from a newer version are skipped
+            }
+        }
+    }
+    
+    private Difficulty readDifficulty(int[] cursor, int end) throws CorruptRecordException {
+        long ordinal = readVarint(cursor, end);
+        if (ordinal < 0 || ordinal >= DIFFICULTIES.length) {
+            throw new CorruptRecordException("Unknown difficulty " + ordinal);
+        }
+        return DIFFICULTIES[(int) ordinal];
+    }
+    
+    private static GameConfig configFor(Difficulty difficulty, int rows, int cols) throws CorruptRecordException {
+        try {
+            return difficulty == Difficulty.CUSTOM ? GameConfig.createCustom(rows, cols) : GameConfig.of(difficulty);
+        } catch (IllegalArgumentException e) {
+            throw new CorruptRecordException(e.getMessage());
+        }
+    }
+    
+    /**
+     * Rebuilds the game the journal ends in, or returns {@code null} when
+     * the last game was finished.
+     */
+    public RestoredGame restore() {
+        if (!gameOpen) return null;
+        
+        GameConfig config = dealConfig;
+        GameEngine engine = new GameEngine(config);
+        engine.deal(dealSeed);
+        
+        // The journal keeps no flip times, so restored matches have none
+        MatchHistory matches = new MatchHistory();
+        matches.reset(config.getTotalPairs());
+        for (int i = 0; i < dealFlipCount; i++) {
+            if (engine.isPending()) {
+                engine.resolve();
+            }
+            GameEngine.FlipResult result = engine.flip(dealFlips[i]);
+            if (result == GameEngine.FlipResult.MATCH) {
+                matches.add(engine.getMoves(), -1, engine.getFlipped(0), engine.getFlipped(1));
+            } else if (result == GameEngine.FlipResult.IGNORED) {
+                break;
+            }
+        }
+        // A pair that was still face up when the app went away is settled now
+        if (engine.isPending()) {
+            engine.resolve();
+        }
+        return new RestoredGame(engine, Arrays.copyOf(dealFlips, dealFlipCount),
+            matches, dealStartMillis, dealVersus);
+    }
+    
+    /**
+     * Logs a fresh deal, and whether it is played against the computer.
+     * Compacts the log first if it has grown large.
+     */
+    public void beginGame(GameEngine engine, boolean versus, long nowMillis) throws IOException {
+        if (!engine.isSeeded()) {
+            throw new IllegalArgumentException("Only seeded deals can be journaled");
+        }
+        if (pos > COMPACT_THRESHOLD) {
+            compact();
+        }
+        
+        GameConfig config = engine.getConfig();
+        int at = reserve();
+        int p = at + 4;
+        p = writeVarint(p, config.getDifficulty().ordinal());
+        p = writeVarint(p, config.getGridRows());
+        p = writeVarint(p, config.getGridCols());
+        buf.putLong(p, engine.getSeed());
+        p = writeVarint(p + 8, nowMillis);
+        p = writeVarint(p, versus ? 1 : 0);
+        commit(at, TYPE_DEAL, p);
+        
+        dealConfig = config;
+        dealSeed = engine.getSeed();
+        dealStartMillis = nowMillis;
+        dealVersus = versus;
+        dealFlipCount = 0;
+        gameOpen = true;
+    }
+    
+    /**
+     * Closes the game the journal ends in without restoring it, e.g. when a
+     * specific deal was asked for instead. It goes into the history like any
+     * other game left unfinished.
+     */
+    public void abandon(long nowMillis) throws IOException {
+        RestoredGame open = restore();
+        if (open == null) return;
+        
+        endGame(open.getEngine(), nowMillis - open.getStartedAtMillis(), nowMillis);
+    }
+    
+    /** Logs a flip the engine accepted. */
+    public void recordFlip(int cardIndex) throws IOException {
+        if (!gameOpen) return;
+        
+        int at = reserve();
+        commit(at, TYPE_FLIP, writeVarint(at + 4, cardIndex));
+        addFlip(cardIndex);
+    }
+    
+    private void addFlip(int cardIndex) {
+        if (dealFlipCount == dealFlips.length) {
+            dealFlips = Arrays.copyOf(dealFlips, dealFlipCount * 2);
+        }
+        dealFlips[dealFlipCount++] = cardIndex;
+    }
+    
+    /**
+     * Closes the current game with the engine's result and adds it to the
+     * history. Games without a single flip leave no result.
+     */
+    public void endGame(GameEngine engine, long elapsedMillis, long nowMillis) throws IOException {
+        if (!gameOpen || dealFlipCount == 0) return;
+        
+        GameConfig config = engine.getConfig();
+        GameResult result = new GameResult(config.getDifficulty(), config.getGridRows(), config.getGridCols(),
+            engine.getMoves(), elapsedMillis, nowMillis, engine.isWon(), dealVersus);
+        appendResult(result);
+        remember(result);
+        gameOpen = false;
+    }
+    
+    private void appendResult(GameResult result) throws IOException {
+        int at = reserve();
+        int p = at + 4;
+        p = writeVarint(p, result.getDifficulty().ordinal());
+        p = writeVarint(p, result.getRows());
+        p = writeVarint(p, result.getCols());
+        p = writeVarint(p, result.getMoves());
+        p = writeVarint(p, result.getElapsedMillis());
+        p = writeVarint(p, result.getFinishedAtMillis());
+        buf.put(p++, (byte) ((result.isWon() ? RESULT_WON : 0) | (result.isVersus() ? RESULT_VERSUS : 0)));
+        commit(at, TYPE_RESULT, p);
+    }
+    
+    private void remember(GameResult result) {
+        history.addLast(result);
+        if (history.size() > MAX_HISTORY) {
+            history.removeFirst();
+        }
+    }
+    
+    /** Finished games, oldest first, capped to the most recent ones. */
+    public List<GameResult> getHistory() {
+        return Collections.unmodifiableList(new ArrayList<>(history));
+    }
+    
+    /**
+     * Rewrites the retained history into a new generation and switches to
+     * it. Only called between games, so no open game has to be carried over.
+     */
+    private void compact() throws IOException {
+        long previous = generation;
+        closeMapping();
+        startGeneration(previous + 1);
+        for (GameResult result : history) {
+            appendResult(result);
+        }
+        publishGeneration();
+        deleteGenerationsBefore(generation);
+    }
+    
+    private void startGeneration(long generation) throws IOException {
+        Path file = fileFor(generation);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        this.generation = generation;
+        pos = HEADER_SIZE;
+        
+        buf.put(4, VERSION);
+        buf.putLong(8, generation);
+    }
+    
+    /** Marks the new generation complete; until then loading ignores it. */
+    private void publishGeneration() {
+        buf.force();
+        buf.put(0, MAGIC);
+        buf.force();
+    }
+    
+    private void deleteGenerationsBefore(long generation) throws IOException {
+        for (Path file : generationFiles()) {
+            if (generationOf(file) < generation) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Still mapped (Windows); it is skipped on load and retried next time
+                }
+            }
+        }
+    }
+    
+    /** Makes room for one record and returns its offset. */
+    private int reserve() throws IOException {
+        if (pos + 4 + MAX_PAYLOAD > buf.capacity()) {
+            long capacity = (long) buf.capacity() * 2;
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("Journal generation is full");
+            }
+            buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return pos;
+    }
+    
+    private void commit(int at, int type, int end) {
+        INT.setRelease(buf, at, type << 24 | (end - at - 4));
+        pos = align(end);
+    }
+    
+    private int writeVarint(int p, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put(p++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put(p++, (byte) value);
+        return p;
+    }
+    
+    private long readVarint(int[] cursor, int end) throws CorruptRecordException {
+        long value = 0;
+        for (int shift = 0; shift < 64 && cursor[0] < end; shift += 7) {
+            byte b = buf.get(cursor[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new CorruptRecordException("Malformed varint in journal");
+    }
+    
+    private static int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+    
+    private void closeMapping() throws IOException {
+        if (buf != null) {
+            buf.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        closeMapping();
+    }
+}
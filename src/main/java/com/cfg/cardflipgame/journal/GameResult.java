@@ -0,0 +1,40 @@
+package com.cfg.cardflipgame.journal;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+
+/**
+ * A finished or abandoned game as kept in the journal's history.
+ */
+public final class GameResult {
+    
+    private final Difficulty difficulty;
+    private final int rows, cols;
+    private final int moves;
+    private final long elapsedMillis;
+    private final long finishedAtMillis;
+    private final boolean won;
+    private final boolean versus;
+    
+    public GameResult(Difficulty difficulty, int rows, int cols, int moves,
+                      long elapsedMillis, long finishedAtMillis, boolean won, boolean versus) {
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.moves = moves;
+        this.elapsedMillis = elapsedMillis;
+        this.finishedAtMillis = finishedAtMillis;
+        this.won = won;
+        this.versus = versus;
+    }
+    
+    public Difficulty getDifficulty() { return difficulty; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getMoves() { return moves; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public long getFinishedAtMillis() { return finishedAtMillis; }
+    public boolean isWon() { return won; }
+    
+    /** Played against the computer; such games are never ranked. */
+    public boolean isVersus() { return versus; }
+}
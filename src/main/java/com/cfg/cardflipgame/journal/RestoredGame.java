@@ -0,0 +1,36 @@
+package com.cfg.cardflipgame.journal;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.MatchHistory;
+
+/**
+ * The game that was in progress when the journal was last written, rebuilt
+ * by replaying its flips on a fresh engine.
+ */
+public final class RestoredGame {
+    
+    private final GameEngine engine;
+    private final int[] flips;
+    private final MatchHistory matches;
+    private final long startedAtMillis;
+    private final boolean versus;
+    
+    RestoredGame(GameEngine engine, int[] flips, MatchHistory matches, long startedAtMillis, boolean versus) {
+        this.engine = engine;
+        this.flips = flips;
+        this.matches = matches;
+        this.startedAtMillis = startedAtMillis;
+        this.versus = versus;
+    }
+    
+    public GameEngine getEngine() { return engine; }
+    
+    /** Every flip of the game so far, in order. */
+    public int[] getFlips() { return flips.clone(); }
+    
+    /** The matches made so far, without times. */
+    public MatchHistory getMatches() { return matches; }
+    
+    public long getStartedAtMillis() { return startedAtMillis; }
+    public boolean isVersus() { return versus; }
+}
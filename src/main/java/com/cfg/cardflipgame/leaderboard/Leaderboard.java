@@ -0,0 +1,239 @@
+package com.cfg.cardflipgame.leaderboard;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranks won games per {@link Difficulty} by moves, then elapsed time.
+ * Elapsed times are compared in buckets that get coarser as games get longer:
+ * tenths of a second in the first minute, then seconds, five seconds and
+ * minutes, up to a day. {@link #top} and {@link #standingOf} use that same
+ * order, so a game listed above another never ranks below it.
+ * Every board counts its games in lock-free Fenwick trees, one over move
+ * counts and one over time buckets per move count, so any number of threads
+ * can report finished games at once and a rank is a fixed number of counter
+ * reads however many games were played. Only the best {@value #RETAINED}
+ * games are kept themselves, in a skip list; the sorted snapshot behind
+ * {@link #top} is rebuilt lazily and only when it is asked for.
+ */
+public class Leaderboard {
+    
+    /** How many of the best games per board are kept for {@link #top}. */
+    public static final int RETAINED = 1000;
+    
+    // Games with more moves share the last move count
+    private static final int MAX_MOVES = 1 << 14;
+    
+    // Bucket width below each limit; games slower than the last limit share one bucket
+    private static final long[] BUCKET_LIMITS = {60_000, 600_000, 3_600_000, 86_400_000};
+    private static final long[] BUCKET_STEPS = {100, 1_000, 5_000, 60_000};
+    private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+    
+    public static final class Entry {
+        private final int moves;
+        private final long elapsedMillis;
+        private final long finishedAtMillis;
+        private final long sequence;
+        private final int movesKey;
+        private final int bucket;
+        
+        Entry(int moves, long elapsedMillis, long finishedAtMillis, long sequence) {
+            this.moves = moves;
+            this.elapsedMillis = elapsedMillis;
+            this.finishedAtMillis = finishedAtMillis;
+            this.sequence = sequence;
+            this.movesKey = movesKeyOf(moves);
+            this.bucket = bucketOf(elapsedMillis);
+        }
+        
+        public int getMoves() { return moves; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public long getFinishedAtMillis() { return finishedAtMillis; }
+    }
+    
+    /**
+     * Where a result places: rank 1 is best. Results with the same moves whose
+     * times fall in the same bucket share a rank.
+     */
+    public static final class Standing {
+        private final int rank;
+        private final int total;
+        
+        Standing(int rank, int total) {
+            this.rank = rank;
+            this.total = total;
+        }
+        
+        public int getRank() { return rank; }
+        public int getTotal() { return total; }
+        
+        /** Share of ranked games placed at or above this one, e.g. 5.0 for the top 5%. */
+        public double getTopPercent() {
+            return total == 0 ? 100 : 100.0 * rank / total;
+        }
+    }
+    
+    // Ties within a bucket go to the earlier game
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingInt((Entry e) -> e.movesKey)
+        .thenComparingInt(e -> e.bucket)
+        .thenComparingLong(e -> e.sequence);
+    
+    private static final class View {
+        final long version;
+        final Entry[] sorted;
+        
+        View(long version, Entry[] sorted) {
+            this.version = version;
+            this.sorted = sorted;
+        }
+    }
+    
+    private static final class Board {
+        final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+        // Tracks entries.size(), which would walk the whole list
+        final AtomicInteger retained = new AtomicInteger();
+        final LongAdder total = new LongAdder();
+        // Fenwick tree over move counts
+        final AtomicLongArray moves = new AtomicLongArray(MAX_MOVES + 1);
+        // Per move count, a Fenwick tree over time buckets; created on first use
+        final AtomicReferenceArray<AtomicLongArray> rows = new AtomicReferenceArray<>(MAX_MOVES);
+        final AtomicLong version = new AtomicLong();
+        volatile View view = new View(0, new Entry[0]);
+        final Object viewLock = new Object();
+        
+        AtomicLongArray row(int movesKey) {
+            AtomicLongArray row = rows.get(movesKey);
+            if (row == null) {
+                rows.compareAndSet(movesKey, null, new AtomicLongArray(BUCKETS + 1));
+                row = rows.get(movesKey);
+            }
+            return row;
+        }
+        
+        /** 1 + games with fewer moves, or as many moves in an earlier bucket. */
+        int rankOf(int movesKey, int bucket) {
+            long better = countBelow(moves, movesKey);
+            AtomicLongArray row = rows.get(movesKey);
+            if (row != null) {
+                better += countBelow(row, bucket);
+            }
+            return (int) better + 1;
+        }
+    }
+    
+    private final Map<Difficulty, Board> boards = new EnumMap<>(Difficulty.class);
+    private final AtomicLong sequence = new AtomicLong();
+    
+    public Leaderboard() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            boards.put(difficulty, new Board());
+        }
+    }
+    
+    /** Adds a won game and returns where it placed. */
+    public Standing submit(Difficulty difficulty, int moves, long elapsedMillis, long finishedAtMillis) {
+        add(difficulty, moves, elapsedMillis, finishedAtMillis);
+        return standingOf(difficulty, moves, elapsedMillis);
+    }
+    
+    /** Adds a won game without looking up its standing. */
+    public void add(Difficulty difficulty, int moves, long elapsedMillis, long finishedAtMillis) {
+        Board board = boards.get(difficulty);
+        Entry entry = new Entry(moves, elapsedMillis, finishedAtMillis, sequence.getAndIncrement());
+        increment(board.row(entry.movesKey), entry.bucket);
+        increment(board.moves, entry.movesKey);
+        board.total.increment();
+        
+        board.entries.add(entry);
+        if (board.retained.incrementAndGet() > RETAINED && board.entries.pollLast() != null) {
+            board.retained.decrementAndGet();
+        }
+        board.version.incrementAndGet();
+    }
+    
+    /** Where a game with these moves and time would place right now. */
+    public Standing standingOf(Difficulty difficulty, int moves, long elapsedMillis) {
+        Board board = boards.get(difficulty);
+        int total = (int) board.total.sum();
+        int rank = board.rankOf(movesKeyOf(moves), bucketOf(elapsedMillis));
+        return new Standing(Math.min(rank, total + 1), total);
+    }
+    
+    /** The best {@code k} games, best first; at most {@value #RETAINED}. */
+    public List<Entry> top(Difficulty difficulty, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        Entry[] sorted = viewOf(boards.get(difficulty)).sorted;
+        return List.of(Arrays.copyOf(sorted, Math.min(k, sorted.length)));
+    }
+    
+    public int size(Difficulty difficulty) {
+        return (int) boards.get(difficulty).total.sum();
+    }
+    
+    private static int movesKeyOf(int moves) {
+        return Math.min(Math.max(0, moves), MAX_MOVES - 1);
+    }
+    
+    private static int bucketOf(long elapsedMillis) {
+        long millis = Math.max(0, elapsedMillis);
+        long from = 0;
+        int first = 0;
+        for (int tier = 0; tier < BUCKET_LIMITS.length; tier++) {
+            if (millis < BUCKET_LIMITS[tier]) {
+                return first + (int) ((millis - from) / BUCKET_STEPS[tier]);
+            }
+            first += (int) ((BUCKET_LIMITS[tier] - from) / BUCKET_STEPS[tier]);
+            from = BUCKET_LIMITS[tier];
+        }
+        return first;
+    }
+    
+    private static void increment(AtomicLongArray tree, int key) {
+        for (int i = key + 1; i < tree.length(); i += i & -i) {
+            tree.getAndIncrement(i);
+        }
+    }
+    
+    /** How many counted keys are below {@code key}. */
+    private static long countBelow(AtomicLongArray tree, int key) {
+        long count = 0;
+        for (int i = key; i > 0; i -= i & -i) {
+            count += tree.get(i);
+        }
+        return count;
+    }
+    
+    private static View viewOf(Board board) {
+        View view = board.view;
+        long version = board.version.get();
+        if (view.version == version) {
+            return view;
+        }
+        synchronized (board.viewLock) {
+            view = board.view;
+            version = board.version.get();
+            if (view.version != version) {
+                // Entries added while copying are picked up by the next rebuild
+                List<Entry> copy = new ArrayList<>(board.entries);
+                view = new View(version, copy.toArray(new Entry[0]));
+                board.view = view;
+            }
+            return view;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.cfg.cardflipgame.metrics;
+
+/**
+ * Picks a quality level, 0 being the best, from how long each pulse spent
+ * on the FX thread. The time between pulses says nothing here: JavaFX only
+ * pulses when something asks for it, so sporadic input leaves long gaps
+ * between cheap frames. A window of pulses clearly over budget steps down
+ * at once. What a better level would cost cannot be measured at a worse
+ * one, so stepping up is a probe made after a long run of windows on
+ * budget; a probe that has to be undone doubles the wait before the next one.
+ */
+public class FrameGovernor {
+    
+    private static final int WINDOW = 30;
+    private static final int MIN_PROBE_WINDOWS = 4;
+    private static final int MAX_PROBE_WINDOWS = 64;
+    
+    private final long budgetNanos;
+    private final int maxLevel;
+    private int level = 0;
+    private long windowNanos = 0;
+    private int windowFrames = 0;
+    private int calmWindows = 0;
+    private int probeWindows = MIN_PROBE_WINDOWS;
+    private int windowsSinceProbe = -1;
+    
+    public FrameGovernor(long budgetNanos, int levels) {
+        if (budgetNanos <= 0 || levels < 1) {
+            throw new IllegalArgumentException("Need a positive budget and at least one level");
+        }
+        this.budgetNanos = budgetNanos;
+        this.maxLevel = levels - 1;
+    }
+    
+    /** Feeds the time one pulse took; returns {@code true} if the level changed. */
+    public boolean pulse(long costNanos) {
+        windowNanos += costNanos;
+        if (++windowFrames < WINDOW) return false;
+        
+        long mean = windowNanos / windowFrames;
+        windowNanos = 0;
+        windowFrames = 0;
+        if (windowsSinceProbe >= 0 && ++windowsSinceProbe > 2) {
+            windowsSinceProbe = -1;
+        }
+        
+        if (mean > budgetNanos * 5 / 4) {
+            calmWindows = 0;
+            if (level == maxLevel) return false;
+            if (windowsSinceProbe >= 0) {
+                probeWindows = Math.min(probeWindows * 2, MAX_PROBE_WINDOWS);
+                windowsSinceProbe = -1;
+            }
+            level++;
+            return true;
+        }
+        if (mean > budgetNanos * 11 / 10) {
+            calmWindows = 0;
+            return false;
+        }
+        if (level > 0 && ++calmWindows >= probeWindows) {
+            calmWindows = 0;
+            windowsSinceProbe = 0;
+            level--;
+            return true;
+        }
+        return false;
+    }
+    
+    public int getLevel() { return level; }
+}
@@ -0,0 +1,137 @@
+package com.cfg.cardflipgame.metrics;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Log-linear histogram of nanosecond latencies in the style of HdrHistogram:
+ * every power of two is split into 64 sub-buckets, so any recorded value
+ * is reported within about 1.6%. Recording is a couple of shifts and an
+ * array increment. Instances are not thread-safe; give each thread its own
+ * and {@link #merge} them.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int BUCKETS = SUB_COUNT + (64 - SUB_BITS) * HALF;
+    
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+    
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    public LatencyHistogram merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+    
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+    
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        int sub = (int) (value >>> shift);
+        return SUB_COUNT + (shift - 1) * HALF + (sub - HALF);
+    }
+    
+    /** Highest value that falls into bucket {@code index}. */
+    private static long highestValueAt(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / HALF + 1;
+        long sub = (index - SUB_COUNT) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+    
+    public long getCount() { return total; }
+    public long getMax() { return max; }
+    public long getMin() { return total == 0 ? 0 : min; }
+    
+    public double getMean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+    
+    /** Value at quantile {@code q} (0..1), never above the recorded maximum. */
+    public long getValueAtQuantile(double q) {
+        if (total == 0) return 0;
+        
+        long target = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Writes the percentile distribution in the text layout of
+     * HdrHistogram's {@code .hgrm} files, with values divided by {@code scale}
+     * (e.g. 1000.0 for microseconds).
+     */
+    public void outputPercentileDistribution(PrintStream out, double scale) {
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            seen += counts[i];
+            double percentile = (double) seen / total;
+            double inverse = percentile < 1 ? 1 / (1 - percentile) : Double.POSITIVE_INFINITY;
+            out.printf(Locale.ROOT, "%12.3f %14.12f %10d %14.2f%n",
+                Math.min(highestValueAt(i), max) / scale, percentile, seen, inverse);
+        }
+        out.printf(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", getMean() / scale, stdDev() / scale);
+        out.printf(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", max / scale, total);
+    }
+    
+    private double stdDev() {
+        if (total == 0) return 0;
+        double mean = getMean();
+        double squares = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            double delta = Math.min(highestValueAt(i), max) - mean;
+            squares += delta * delta * counts[i];
+        }
+        return Math.sqrt(squares / total);
+    }
+    
+    public String summary(double scale, String unit) {
+        return String.format(Locale.ROOT, "n=%d mean=%.1f%s p50=%.1f%s p90=%.1f%s p99=%.1f%s p99.9=%.1f%s max=%.1f%s",
+            total, getMean() / scale, unit,
+            getValueAtQuantile(0.5) / scale, unit, getValueAtQuantile(0.9) / scale, unit,
+            getValueAtQuantile(0.99) / scale, unit, getValueAtQuantile(0.999) / scale, unit,
+            max / scale, unit);
+    }
+}
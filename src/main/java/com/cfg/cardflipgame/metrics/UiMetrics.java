@@ -0,0 +1,150 @@
+package com.cfg.cardflipgame.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency histograms for the UI hot path. Everything except GC pauses is
+ * recorded on the FX thread; GC pauses arrive on the JMX notification
+ * thread and are guarded separately. Recording is a clock read and an
+ * array increment, so it stays on whether or not anything is displayed.
+ */
+public class UiMetrics {
+    
+    public enum Metric {
+        CLICK_TO_FRAME("click-to-frame"),
+        FRAME_INTERVAL("frame-interval"),
+        PULSE_LAYOUT("pulse-layout"),
+        DISPLAY_UPDATE("display-update"),
+        GC_PAUSE("gc-pause");
+        
+        private final String label;
+        
+        Metric(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() { return label; }
+    }
+    
+    // Longer gaps between pulses mean the scene was idle, not janky
+    private static final long IDLE_GAP_NANOS = 1_000_000_000L;
+    
+    private final Map<Metric, LatencyHistogram> histograms = new EnumMap<>(Metric.class);
+    private long pendingClickNanos = -1;
+    private long pulseStartNanos = -1;
+    private long lastPulseNanos = -1;
+    
+    public UiMetrics() {
+        for (Metric metric : Metric.values()) {
+            histograms.put(metric, new LatencyHistogram());
+        }
+    }
+    
+    /** Starts the click-to-frame clock unless a click is already waiting for its frame. */
+    public void clickReceived(long nanos) {
+        if (pendingClickNanos < 0) {
+            pendingClickNanos = nanos;
+        }
+    }
+    
+    public void pulseStarted(long nanos) {
+        pulseStartNanos = nanos;
+        if (lastPulseNanos >= 0 && nanos - lastPulseNanos < IDLE_GAP_NANOS) {
+            histograms.get(Metric.FRAME_INTERVAL).record(nanos - lastPulseNanos);
+        }
+        lastPulseNanos = nanos;
+    }
+    
+    /** The pulse has laid out the scene that is about to be rendered. */
+    public void pulseLaidOut(long nanos) {
+        if (pulseStartNanos >= 0) {
+            histograms.get(Metric.PULSE_LAYOUT).record(nanos - pulseStartNanos);
+            pulseStartNanos = -1;
+        }
+        if (pendingClickNanos >= 0) {
+            histograms.get(Metric.CLICK_TO_FRAME).record(nanos - pendingClickNanos);
+            pendingClickNanos = -1;
+        }
+    }
+    
+    public void record(Metric metric, long nanos) {
+        LatencyHistogram histogram = histograms.get(metric);
+        if (metric == Metric.GC_PAUSE) {
+            synchronized (histogram) {
+                histogram.record(nanos);
+            }
+        } else {
+            histogram.record(nanos);
+        }
+    }
+    
+    /** Records the pause of every collection from now on. */
+    public void installGcListener() {
+        NotificationListener listener = (notification, handback) -> {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            // Concurrent cycles report their whole duration, not a pause
+            String name = info.getGcName();
+            if (!name.contains("Cycles") && !name.contains("Concurrent")) {
+                record(Metric.GC_PAUSE, info.getGcInfo().getDuration() * 1_000_000L);
+            }
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+            }
+        }
+    }
+    
+    /** One line per metric: count, p50, p99 and max in milliseconds. */
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram histogram = histograms.get(metric);
+            synchronized (histogram) {
+                text.append(String.format(Locale.ROOT, "%-15s n=%-6d p50=%6.2f p99=%7.2f max=%7.2f ms%n",
+                    metric.getLabel(), histogram.getCount(),
+                    histogram.getValueAtQuantile(0.5) / 1e6, histogram.getValueAtQuantile(0.99) / 1e6,
+                    histogram.getMax() / 1e6));
+            }
+        }
+        return text.toString();
+    }
+    
+    /** Writes one {@code .hgrm} percentile file per metric, in milliseconds, into {@code directory}. */
+    public void export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram histogram = histograms.get(metric);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(metric.getLabel() + ".hgrm")))) {
+                synchronized (histogram) {
+                    histogram.outputPercentileDistribution(out, 1e6);
+                }
+            }
+        }
+    }
+    
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            synchronized (histogram) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cfg.cardflipgame.replay;
+
+/**
+ * Layout of a replay file. A file starts with {@link #MAGIC} and a version
+ * byte, followed by game records:
+ * <pre>
+ *   varint difficulty ordinal, varint rows, varint cols, 8-byte seed (LE)
+ *   per accepted flip: varint (cardIndex + 1), varint millis since previous flip
+ *   varint 0 (end of flips), varint moves, byte won
+ * </pre>
+ * Only flips the engine accepted are logged; replaying them in order with
+ * pending pairs resolved before the next flip reproduces the game exactly.
+ */
+final class ReplayFormat {
+    
+    static final byte[] MAGIC = {'C', 'F', 'G', 'R'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = MAGIC.length + 1;
+    
+    private ReplayFormat() {
+    }
+    
+    static int writeVarint(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+}
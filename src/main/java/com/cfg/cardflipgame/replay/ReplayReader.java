@@ -0,0 +1,121 @@
+package com.cfg.cardflipgame.replay;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams records out of a replay file, memory-mapped so that bulk
+ * replays never copy the log onto the heap. A writer killed mid-record
+ * leaves a partial record at the end of the file; reading stops before it
+ * and {@link #isTruncated()} reports it.
+ */
+public class ReplayReader {
+    
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    
+    private final ByteBuffer in;
+    private boolean truncated;
+    
+    /** A record that runs past the end of the file or does not decode. */
+    private static final class IncompleteRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+        
+        IncompleteRecordException(String message) {
+            super(message, null, false, false);
+        }
+    }
+    
+    public ReplayReader(ByteBuffer in) {
+        this.in = in.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (this.in.remaining() < ReplayFormat.HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a replay log");
+        }
+        for (byte b : ReplayFormat.MAGIC) {
+            if (this.in.get() != b) {
+                throw new IllegalArgumentException("Not a replay log");
+            }
+        }
+        byte version = this.in.get();
+        if (version != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version: " + version);
+        }
+    }
+    
+    public static ReplayReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ReplayReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    /**
+     * Decodes the next game into {@code record}; returns false at end of file
+     * or at an incomplete last record.
+     */
+    public boolean next(ReplayRecord record) {
+        if (truncated || !in.hasRemaining()) {
+            return false;
+        }
+        
+        int start = in.position();
+        try {
+            decode(record);
+            return true;
+        } catch (IncompleteRecordException e) {
+            in.position(start);
+            truncated = true;
+            return false;
+        }
+    }
+    
+    /** Whether reading stopped at a partial record rather than the end of the file. */
+    public boolean isTruncated() { return truncated; }
+    
+    /** Byte offset of the next record, or of the partial one once truncated. */
+    public int position() { return in.position(); }
+    
+    private void decode(ReplayRecord record) throws IncompleteRecordException {
+        long difficulty = readVarint();
+        if (difficulty < 0 || difficulty >= DIFFICULTIES.length) {
+            throw new IncompleteRecordException("Unknown difficulty " + difficulty);
+        }
+        record.difficulty = DIFFICULTIES[(int) difficulty];
+        record.rows = (int) readVarint();
+        record.cols = (int) readVarint();
+        if (in.remaining() < Long.BYTES) {
+            throw new IncompleteRecordException("Seed past the end of the file");
+        }
+        record.seed = in.getLong();
+        record.flipCount = 0;
+        
+        long card;
+        while ((card = readVarint()) != 0) {
+            record.addFlip((int) card - 1, (int) readVarint());
+        }
+        record.recordedMoves = (int) readVarint();
+        if (!in.hasRemaining()) {
+            throw new IncompleteRecordException("Result past the end of the file");
+        }
+        record.recordedWon = in.get() != 0;
+    }
+    
+    private long readVarint() throws IncompleteRecordException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!in.hasRemaining()) {
+                throw new IncompleteRecordException("Varint past the end of the file");
+            }
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IncompleteRecordException("Malformed varint");
+    }
+}
@@ -0,0 +1,53 @@
+package com.cfg.cardflipgame.replay;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+
+import java.util.Arrays;
+
+/**
+ * One decoded game. Instances are refilled by {@link ReplayReader#next} so
+ * bulk replays reuse the same arrays for every record.
+ */
+public class ReplayRecord {
+    
+    Difficulty difficulty;
+    int rows, cols;
+    long seed;
+    int[] flips = new int[64];
+    int[] delays = new int[64];
+    int flipCount;
+    int recordedMoves;
+    boolean recordedWon;
+    
+    void addFlip(int cardIndex, int delayMillis) {
+        if (flipCount == flips.length) {
+            flips = Arrays.copyOf(flips, flipCount * 2);
+            delays = Arrays.copyOf(delays, flipCount * 2);
+        }
+        flips[flipCount] = cardIndex;
+        delays[flipCount] = delayMillis;
+        flipCount++;
+    }
+    
+    public GameConfig toConfig() {
+        return difficulty == Difficulty.CUSTOM ? GameConfig.createCustom(rows, cols) : GameConfig.of(difficulty);
+    }
+    
+    public long durationMillis() {
+        long total = 0;
+        for (int i = 0; i < flipCount; i++) {
+            total += delays[i];
+        }
+        return total;
+    }
+    
+    public Difficulty getDifficulty() { return difficulty; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public long getSeed() { return seed; }
+    public int getFlipCount() { return flipCount; }
+    public int getFlip(int i) { return flips[i]; }
+    public int getRecordedMoves() { return recordedMoves; }
+    public boolean isRecordedWon() { return recordedWon; }
+}
@@ -0,0 +1,108 @@
+package com.cfg.cardflipgame.replay;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Records games into the compact replay format. Flips are encoded straight
+ * into one reusable buffer, so recording a game allocates nothing once the
+ * buffer has grown to fit; the record is written out when the game ends.
+ */
+public class ReplayWriter implements Closeable {
+    
+    // Worst case per flip: two 10-byte varints
+    private static final int MAX_FLIP_BYTES = 20;
+    private static final int MAX_TRAILER_BYTES = 11;
+    
+    private final OutputStream out;
+    private byte[] buf = new byte[256];
+    private int pos = 0;
+    private boolean inGame = false;
+    private int flips;
+    private long lastFlipMillis;
+    
+    public ReplayWriter(OutputStream out, boolean writeHeader) throws IOException {
+        this.out = out;
+        if (writeHeader) {
+            out.write(ReplayFormat.MAGIC);
+            out.write(ReplayFormat.VERSION);
+        }
+    }
+    
+    /** Opens {@code file} for appending, writing the file header if it is new. */
+    public static ReplayWriter append(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new ReplayWriter(out, fresh);
+    }
+    
+    /** Starts a record for the board the engine has just dealt. */
+    public void beginGame(GameEngine engine, long nowMillis) {
+        if (!engine.isSeeded()) {
+            throw new IllegalArgumentException("Only seeded deals can be replayed");
+        }
+        pos = 0;
+        ensure(32);
+        pos = ReplayFormat.writeVarint(buf, pos, engine.getConfig().getDifficulty().ordinal());
+        pos = ReplayFormat.writeVarint(buf, pos, engine.getConfig().getGridRows());
+        pos = ReplayFormat.writeVarint(buf, pos, engine.getConfig().getGridCols());
+        long seed = engine.getSeed();
+        for (int i = 0; i < 8; i++) {
+            buf[pos++] = (byte) (seed >>> (8 * i));
+        }
+        lastFlipMillis = nowMillis;
+        flips = 0;
+        inGame = true;
+    }
+    
+    /** Logs a flip the engine accepted. */
+    public void recordFlip(int cardIndex, long nowMillis) {
+        if (!inGame) return;
+        
+        ensure(MAX_FLIP_BYTES);
+        pos = ReplayFormat.writeVarint(buf, pos, cardIndex + 1L);
+        pos = ReplayFormat.writeVarint(buf, pos, Math.max(0, nowMillis - lastFlipMillis));
+        lastFlipMillis = nowMillis;
+        flips++;
+    }
+    
+    /**
+     * Closes the current record with the engine's result and writes it out.
+     * Games without a single flip are dropped.
+     */
+    public void endGame(GameEngine engine) throws IOException {
+        if (!inGame) return;
+        inGame = false;
+        if (flips == 0) {
+            return;
+        }
+        
+        ensure(MAX_TRAILER_BYTES);
+        pos = ReplayFormat.writeVarint(buf, pos, 0);
+        pos = ReplayFormat.writeVarint(buf, pos, engine.getMoves());
+        buf[pos++] = (byte) (engine.isWon() ? 1 : 0);
+        out.write(buf, 0, pos);
+        out.flush();
+    }
+    
+    private void ensure(int bytes) {
+        if (pos + bytes > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.cfg.cardflipgame.replay;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Replays recorded games headless at full speed, either to check that the
+ * current engine reproduces every recorded result or to re-score a corpus.
+ * A replayer is single-threaded and reuses one engine per board layout.
+ */
+public class Replayer {
+    
+    private final Map<Long, GameEngine> engines = new HashMap<>();
+    private GameEngine engine;
+    private long engineKey = -1;
+    private int lastMoves;
+    private boolean lastWon;
+    private boolean lastDiverged;
+    
+    /**
+     * Replays one record. Returns {@code true} when the engine reaches the
+     * recorded moves and outcome.
+     */
+    public boolean replay(ReplayRecord record) {
+        GameEngine engine = engineFor(record);
+        engine.deal(record.seed);
+        lastDiverged = false;
+        
+        for (int i = 0; i < record.flipCount; i++) {
+            if (engine.isPending()) {
+                engine.resolve();
+            }
+            if (engine.flip(record.flips[i]) == GameEngine.FlipResult.IGNORED) {
+                lastDiverged = true;
+                break;
+            }
+        }
+        if (engine.isPending()) {
+            engine.resolve();
+        }
+        
+        lastMoves = engine.getMoves();
+        lastWon = engine.isWon();
+        return !lastDiverged && lastMoves == record.recordedMoves && lastWon == record.recordedWon;
+    }
+    
+    private GameEngine engineFor(ReplayRecord record) {
+        long key = (long) record.difficulty.ordinal() << 48 | (long) record.rows << 24 | record.cols;
+        if (key != engineKey) {
+            engine = engines.computeIfAbsent(key, k -> new GameEngine(record.toConfig()));
+            engineKey = key;
+        }
+        return engine;
+    }
+    
+    public int getLastMoves() { return lastMoves; }
+    public boolean isLastWon() { return lastWon; }
+    public boolean isLastDiverged() { return lastDiverged; }
+    
+    /**
+     * Usage: {@code Replayer <file-or-directory>...}. Every {@code .cfgr} file
+     * is replayed on its own worker and divergent records are reported.
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    walk.filter(p -> p.toString().endsWith(".cfgr")).forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        
+        LongAdder records = new LongAdder();
+        LongAdder mismatches = new LongAdder();
+        LongAdder totalMoves = new LongAdder();
+        long start = System.nanoTime();
+        
+        files.parallelStream().forEach(file -> {
+            Replayer replayer = new Replayer();
+            ReplayRecord record = new ReplayRecord();
+            try {
+                ReplayReader reader = ReplayReader.open(file);
+                long index = 0;
+                while (reader.next(record)) {
+                    if (!replayer.replay(record)) {
+                        mismatches.increment();
+                        System.err.printf("%s #%d seed=%d: recorded %d moves/won=%b, replayed %d moves/won=%b%s%n",
+                            file, index, record.seed, record.recordedMoves, record.recordedWon,
+                            replayer.lastMoves, replayer.lastWon, replayer.lastDiverged ? " (diverged)" : "");
+                    }
+                    records.increment();
+                    totalMoves.add(replayer.lastMoves);
+                    index++;
+                }
+                if (reader.isTruncated()) {
+                    System.err.printf("%s: stopped at an incomplete record at byte %d, after #%d%n",
+                        file, reader.position(), index - 1);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d records in %d files, %d mismatches, %d moves, %.0f records/sec%n",
+            records.sum(), files.size(), mismatches.sum(), totalMoves.sum(), records.sum() / seconds);
+    }
+}
@@ -0,0 +1,286 @@
+package com.cfg.cardflipgame.server;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.leaderboard.Leaderboard;
+import com.cfg.cardflipgame.sim.MonteCarloSimulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless game server: one virtual thread per connection, each running
+ * up to {@link #MAX_SESSIONS} independent sessions over a line protocol.
+ * <pre>
+ * NEW [EASY|MEDIUM|HARD|&lt;rows&gt;x&lt;cols&gt;] [seed]  → OK &lt;session&gt; &lt;rows&gt; &lt;cols&gt; &lt;seed&gt;
+ * FLIP &lt;session&gt; &lt;index&gt;  → FIRST &lt;pair&gt; | MATCH &lt;pair&gt; &lt;moves&gt; [WON &lt;rank&gt; &lt;ranked&gt;] | MISMATCH &lt;pair&gt; &lt;moves&gt; | IGNORED
+ * STATE &lt;session&gt;         → STATE &lt;moves&gt; &lt;matched&gt; &lt;pairs&gt; [WON]
+ * TOP &lt;difficulty&gt; [k]    → TOP &lt;moves&gt;/&lt;millis&gt;... (at most {@link #MAX_TOP})
+ * END &lt;session&gt;           → ENDED &lt;session&gt;
+ * QUIT                     → BYE, then the connection closes
+ * </pre>
+ * Custom boards are limited to {@link #MAX_CARDS} cards, connections to
+ * {@link #MAX_SESSIONS} open sessions and requests to {@link #MAX_LINE}
+ * characters; a longer line ends the connection. Malformed requests
+ * are answered with {@code ERR <reason>}. Sessions end
+ * with their connection. Won games on the preset difficulties are ranked
+ * on a leaderboard shared by all connections.
+ */
+public class GameServer implements Closeable {
+    
+    public static final int DEFAULT_PORT = 7420;
+    /** Largest board a client may ask for, 64×64. */
+    public static final int MAX_CARDS = 4096;
+    /** Most sessions one connection may have open at once. */
+    public static final int MAX_SESSIONS = 64;
+    /** Longest request line, in characters. */
+    public static final int MAX_LINE = 256;
+    /** Most leaderboard entries one TOP reply lists. */
+    public static final int MAX_TOP = 100;
+    
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private final LongAdder sessionsStarted = new LongAdder();
+    private final LongAdder sessionsWon = new LongAdder();
+    private final LongAdder flips = new LongAdder();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private volatile boolean running = true;
+    
+    private GameServer(InetSocketAddress address) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address, 1024);
+    }
+    
+    /** Binds {@code address} and starts accepting connections. */
+    public static GameServer start(InetSocketAddress address) throws IOException {
+        GameServer server = new GameServer(address);
+        // Started only once the server is fully constructed
+        Thread.ofVirtual().name("game-server-accept").start(server::acceptLoop);
+        return server;
+    }
+    
+    /** Starts a server on the loopback interface; port 0 picks a free port. */
+    public static GameServer startLocal(int port) throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+    
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private void serve(Socket socket) {
+        Map<Long, GameSession> sessions = new HashMap<>();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            
+            StringBuilder buffer = new StringBuilder();
+            while (true) {
+                String line;
+                try {
+                    line = readLine(in, buffer);
+                } catch (LineTooLongException e) {
+                    out.write("ERR line longer than " + MAX_LINE + " characters\n");
+                    break;
+                }
+                if (line == null) {
+                    break;
+                }
+                
+                String reply = handle(line, sessions);
+                out.write(reply);
+                out.write('\n');
+                // Pipelined requests are answered in one write
+                if (!in.ready()) {
+                    out.flush();
+                }
+                if (reply.equals("BYE")) {
+                    break;
+                }
+            }
+            out.flush();
+        } catch (SocketException e) {
+            // Client went away mid-request; its sessions end with it
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        }
+    }
+    
+    private static final class LineTooLongException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+    
+    /**
+     * Reads one line without its terminator, or {@code null} at the end of
+     * the stream. Unlike {@link BufferedReader#readLine()} it gives up past
+     * {@link #MAX_LINE} characters instead of buffering whatever arrives.
+     */
+    private static String readLine(BufferedReader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() == MAX_LINE) {
+                throw new LineTooLongException();
+            }
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        int length = line.length();
+        return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+    }
+    
+    String handle(String line, Map<Long, GameSession> sessions) {
+        String[] parts = line.trim().split("\\s+");
+        try {
+            switch (parts[0].toUpperCase(Locale.ROOT)) {
+                case "NEW": {
+                    if (sessions.size() >= MAX_SESSIONS) {
+                        return "ERR at most " + MAX_SESSIONS + " sessions per connection";
+                    }
+                    GameConfig config = parseConfig(parts.length > 1 ? parts[1] : "EASY");
+                    long seed = parts.length > 2 ? Long.parseLong(parts[2]) : ThreadLocalRandom.current().nextLong();
+                    GameSession session = new GameSession(nextSessionId.getAndIncrement(), config, seed);
+                    sessions.put(session.getId(), session);
+                    sessionsStarted.increment();
+                    return "OK " + session.getId() + " " + config.getGridRows() + " " + config.getGridCols() + " " + seed;
+                }
+                case "FLIP": {
+                    GameSession session = sessionFor(parts, sessions);
+                    if (session == null) return "ERR unknown session";
+                    if (parts.length < 3) return "ERR usage: FLIP <session> <index>";
+                    
+                    String reply = session.flip(Integer.parseInt(parts[2]));
+                    flips.increment();
+                    if (reply.endsWith(" WON")) {
+                        sessionsWon.increment();
+                        return reply + rank(session);
+                    }
+                    return reply;
+                }
+                case "STATE": {
+                    GameSession session = sessionFor(parts, sessions);
+                    return session == null ? "ERR unknown session" : session.state();
+                }
+                case "END": {
+                    GameSession session = sessionFor(parts, sessions);
+                    if (session == null) return "ERR unknown session";
+                    sessions.remove(session.getId());
+                    return "ENDED " + session.getId();
+                }
+                case "TOP": {
+                    Difficulty difficulty = Difficulty.valueOf(parts.length > 1 ? parts[1].toUpperCase(Locale.ROOT) : "EASY");
+                    int k = parts.length > 2 ? Integer.parseInt(parts[2]) : 10;
+                    if (k < 0) {
+                        return "ERR k must not be negative";
+                    }
+                    StringBuilder reply = new StringBuilder("TOP");
+                    for (Leaderboard.Entry entry : leaderboard.top(difficulty, Math.min(k, MAX_TOP))) {
+                        reply.append(' ').append(entry.getMoves()).append('/').append(entry.getElapsedMillis());
+                    }
+                    return reply.toString();
+                }
+                case "QUIT":
+                    return "BYE";
+                default:
+                    return "ERR unknown command " + parts[0];
+            }
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+    
+    private String rank(GameSession session) {
+        Difficulty difficulty = session.getEngine().getConfig().getDifficulty();
+        if (difficulty == Difficulty.CUSTOM) {
+            return "";
+        }
+        Leaderboard.Standing standing = leaderboard.submit(difficulty, session.getEngine().getMoves(),
+            session.getElapsedNanos() / 1_000_000, System.currentTimeMillis());
+        return " " + standing.getRank() + " " + standing.getTotal();
+    }
+    
+    private static GameSession sessionFor(String[] parts, Map<Long, GameSession> sessions) {
+        return parts.length > 1 ? sessions.get(Long.parseLong(parts[1])) : null;
+    }
+    
+    static GameConfig parseConfig(String spec) {
+        int x = spec.toLowerCase(Locale.ROOT).indexOf('x');
+        if (x > 0) {
+            int rows = Integer.parseInt(spec.substring(0, x));
+            int cols = Integer.parseInt(spec.substring(x + 1));
+            // Checked before anything is allocated for the board
+            if ((long) rows * cols > MAX_CARDS) {
+                throw new IllegalArgumentException("board larger than " + MAX_CARDS + " cards");
+            }
+            return GameConfig.createCustom(rows, cols);
+        }
+        Difficulty difficulty = Difficulty.valueOf(spec.toUpperCase(Locale.ROOT));
+        if (difficulty == Difficulty.CUSTOM) {
+            throw new IllegalArgumentException("use <rows>x<cols> for custom boards");
+        }
+        return GameConfig.of(difficulty);
+    }
+    
+    public int getPort() { return serverSocket.getLocalPort(); }
+    public long getSessionsStarted() { return sessionsStarted.sum(); }
+    public long getSessionsWon() { return sessionsWon.sum(); }
+    public long getFlips() { return flips.sum(); }
+    public Leaderboard getLeaderboard() { return leaderboard; }
+    
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+    
+    /** Usage: {@code --port=7420}. Listens on the loopback interface until killed. */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> named = MonteCarloSimulator.parseNamed(args);
+        GameServer server = startLocal(Integer.parseInt(named.getOrDefault("port", String.valueOf(DEFAULT_PORT))));
+        System.out.println("Listening on " + server.serverSocket.getLocalSocketAddress());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+            }
+            System.out.printf("%d sessions, %d won, %d flips%n",
+                server.getSessionsStarted(), server.getSessionsWon(), server.getFlips());
+        }));
+        Thread.currentThread().join();
+    }
+}
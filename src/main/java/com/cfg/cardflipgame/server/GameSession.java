@@ -0,0 +1,56 @@
+package com.cfg.cardflipgame.server;
+
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * One game hosted by the server. A session belongs to the connection that
+ * opened it and is only touched from that connection's thread.
+ */
+class GameSession {
+    
+    private final long id;
+    private final GameEngine engine;
+    private final long startNanos;
+    
+    GameSession(long id, GameConfig config, long seed) {
+        this.id = id;
+        this.engine = new GameEngine(config, new SplittableRandom(seed));
+        this.engine.deal(seed);
+        this.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Flips a card and answers with the protocol reply. The second card of a
+     * turn is resolved straight away; how long the pair stays visible is up
+     * to the client.
+     */
+    String flip(int cardIndex) {
+        if (cardIndex < 0 || cardIndex >= engine.getConfig().getTotalCards()) {
+            return "ERR index " + cardIndex + " out of range";
+        }
+        
+        GameEngine.FlipResult result = engine.flip(cardIndex);
+        int pair = engine.getCard(cardIndex);
+        return switch (result) {
+            case IGNORED -> "IGNORED";
+            case FIRST -> "FIRST " + pair;
+            case MATCH, MISMATCH -> {
+                boolean match = engine.resolve();
+                yield (match ? "MATCH " : "MISMATCH ") + pair + " " + engine.getMoves()
+                    + (engine.isWon() ? " WON" : "");
+            }
+        };
+    }
+    
+    String state() {
+        return "STATE " + engine.getMoves() + " " + engine.getMatchedPairs() + " "
+            + engine.getConfig().getTotalPairs() + (engine.isWon() ? " WON" : "");
+    }
+    
+    long getId() { return id; }
+    GameEngine getEngine() { return engine; }
+    long getElapsedNanos() { return System.nanoTime() - startNanos; }
+}
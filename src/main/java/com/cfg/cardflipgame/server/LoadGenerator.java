@@ -0,0 +1,245 @@
+package com.cfg.cardflipgame.server;
+
+import com.cfg.cardflipgame.metrics.LatencyHistogram;
+import com.cfg.cardflipgame.sim.MonteCarloSimulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-test client for {@link GameServer}. Every simulated player is a
+ * virtual thread with its own connection that plays whole games back to
+ * back, picking cards from what the server has shown it. Reports
+ * flip-to-response latency and completed sessions per second.
+ */
+public class LoadGenerator {
+    
+    private final String host;
+    private final int port;
+    private final String board;
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder flips = new LongAdder();
+    
+    public LoadGenerator(String host, int port, String board) {
+        this.host = host;
+        this.port = port;
+        this.board = board;
+    }
+    
+    /** Runs {@code clients} players until {@code deadlineNanos} and merges their latencies. */
+    public LatencyHistogram run(int clients, long deadlineNanos, long seed) throws Exception {
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Future<LatencyHistogram>> results = new ArrayList<>(clients);
+        try (ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = root.split();
+                results.add(players.submit(() -> play(deadlineNanos, random)));
+            }
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        for (Future<LatencyHistogram> result : results) {
+            latency.merge(result.get());
+        }
+        return latency;
+    }
+    
+    private LatencyHistogram play(long deadlineNanos, SplittableRandom random) {
+        LatencyHistogram latency = new LatencyHistogram();
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            Player player = new Player(in, out, latency, random);
+            while (System.nanoTime() < deadlineNanos) {
+                player.playGame(board);
+                sessions.increment();
+            }
+            player.request("QUIT");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return latency;
+    }
+    
+    /**
+     * Perfect-memory player that only knows what the server revealed: it
+     * takes a pair it has seen both halves of, otherwise turns over an
+     * unseen card.
+     */
+    private final class Player {
+        
+        private final BufferedReader in;
+        private final BufferedWriter out;
+        private final LatencyHistogram latency;
+        private final SplittableRandom random;
+        private int[] seen = new int[0];
+        private int[] firstSeen = new int[0];
+        private int[] secondSeen = new int[0];
+        private int[] unseen = new int[0];
+        private int[] unseenPos = new int[0];
+        private int[] ready = new int[0];
+        private boolean[] solved = new boolean[0];
+        private int unseenCount, readyCount;
+        
+        Player(BufferedReader in, BufferedWriter out, LatencyHistogram latency, SplittableRandom random) {
+            this.in = in;
+            this.out = out;
+            this.latency = latency;
+            this.random = random;
+        }
+        
+        void playGame(String board) throws IOException {
+            String[] ok = request("NEW " + board).split(" ");
+            if (!ok[0].equals("OK")) {
+                throw new IOException("Server refused game: " + String.join(" ", ok));
+            }
+            String session = ok[1];
+            reset(Integer.parseInt(ok[2]) * Integer.parseInt(ok[3]));
+            
+            boolean won = false;
+            while (!won) {
+                int first = pickFirst();
+                int pair = reveal(first, flip(session, first));
+                int partner = firstSeen[pair] == first ? secondSeen[pair] : firstSeen[pair];
+                int second = partner >= 0 ? partner : pickUnseen(first);
+                
+                String reply = flip(session, second);
+                int secondPair = reveal(second, reply);
+                if (reply.startsWith("MATCH")) {
+                    solved[first] = solved[second] = true;
+                    won = reply.contains(" WON");
+                } else if (secondSeen[secondPair] == second) {
+                    ready[readyCount++] = secondPair;
+                }
+            }
+            request("END " + session);
+        }
+        
+        private void reset(int cards) {
+            if (seen.length != cards) {
+                seen = new int[cards];
+                firstSeen = new int[cards / 2];
+                secondSeen = new int[cards / 2];
+                unseen = new int[cards];
+                unseenPos = new int[cards];
+                ready = new int[cards / 2];
+                solved = new boolean[cards];
+            }
+            Arrays.fill(seen, -1);
+            Arrays.fill(firstSeen, -1);
+            Arrays.fill(secondSeen, -1);
+            Arrays.fill(solved, false);
+            for (int i = 0; i < cards; i++) {
+                unseen[i] = i;
+                unseenPos[i] = i;
+            }
+            unseenCount = cards;
+            readyCount = 0;
+        }
+        
+        private int pickFirst() {
+            while (readyCount > 0) {
+                int pair = ready[--readyCount];
+                int card = firstSeen[pair];
+                if (!solved[card]) {
+                    return card;
+                }
+            }
+            return pickUnseen(-1);
+        }
+        
+        private int pickUnseen(int exclude) {
+            int card;
+            do {
+                card = unseen[random.nextInt(unseenCount)];
+            } while (card == exclude && unseenCount > 1);
+            return card;
+        }
+        
+        /** Records the pair id shown in a FIRST/MATCH/MISMATCH reply. */
+        private int reveal(int card, String reply) throws IOException {
+            int start = reply.indexOf(' ') + 1;
+            int end = reply.indexOf(' ', start);
+            if (start == 0) {
+                throw new IOException("Unexpected reply to flip " + card + ": " + reply);
+            }
+            int pair = Integer.parseInt(end < 0 ? reply.substring(start) : reply.substring(start, end));
+            if (seen[card] < 0) {
+                seen[card] = pair;
+                int last = unseen[--unseenCount];
+                unseen[unseenPos[card]] = last;
+                unseenPos[last] = unseenPos[card];
+                if (firstSeen[pair] < 0) {
+                    firstSeen[pair] = card;
+                } else {
+                    secondSeen[pair] = card;
+                }
+            }
+            return pair;
+        }
+        
+        private String flip(String session, int card) throws IOException {
+            long start = System.nanoTime();
+            String reply = request("FLIP " + session + " " + card);
+            latency.record(System.nanoTime() - start);
+            flips.increment();
+            return reply;
+        }
+        
+        String request(String line) throws IOException {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("Server closed the connection");
+            }
+            return reply;
+        }
+    }
+    
+    /**
+     * Usage: {@code --clients=1000 --seconds=10 --board=HARD [--port=7420]
+     * [--host=localhost] [--seed=1]}. Without {@code --port} an in-process
+     * server on a free port is used.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> named = MonteCarloSimulator.parseNamed(args);
+        int clients = Integer.parseInt(named.getOrDefault("clients", "1000"));
+        double seconds = Double.parseDouble(named.getOrDefault("seconds", "10"));
+        String board = named.getOrDefault("board", "HARD");
+        long seed = Long.parseLong(named.getOrDefault("seed", String.valueOf(System.nanoTime())));
+        
+        GameServer embedded = named.containsKey("port") ? null : GameServer.startLocal(0);
+        int port = embedded != null ? embedded.getPort() : Integer.parseInt(named.get("port"));
+        String host = named.getOrDefault("host", "localhost");
+        
+        LoadGenerator generator = new LoadGenerator(host, port, board);
+        long start = System.nanoTime();
+        LatencyHistogram latency = generator.run(clients, start + (long) (seconds * 1e9), seed);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (embedded != null) {
+            embedded.close();
+        }
+        
+        System.out.printf("%s, %d clients, %.1f s%s%n", board, clients, elapsed, embedded != null ? " (in-process server)" : "");
+        System.out.printf("%d sessions, %.0f sessions/sec, %.0f flips/sec%n",
+            generator.sessions.sum(), generator.sessions.sum() / elapsed, generator.flips.sum() / elapsed);
+        System.out.println("flip latency: " + latency.summary(1000.0, "us"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.cfg.cardflipgame.sim;
+
+import java.util.Arrays;
+
+/**
+ * Exact expected number of moves for the optimal perfect-memory player.
+ * <p>
+ * A position is {@code (n, k)}: {@code n} pairs still unmatched, {@code k}
+ * of them with one card already seen. Known pairs are always taken at once,
+ * so the player only chooses what to turn over second after a fresh card:
+ * another unseen card, or a known card to learn nothing new. Every row
+ * {@code n} depends only on row {@code n - 1}, so values are filled bottom
+ * up into a flat triangular {@code double[]} indexed by {@code n(n+1)/2 + k}
+ * and reused for every later query.
+ */
+public final class ExpectedMovesSolver {
+    
+    // 2^12 pairs keep the cached triangle around 64 MB; larger boards roll two rows
+    private static final int MAX_CACHED_PAIRS = 1 << 12;
+    
+    private static double[] table = new double[1];
+    private static int solvedPairs = 0;
+    
+    private ExpectedMovesSolver() {
+    }
+    
+    /** Expected moves to clear a fresh board of {@code pairs} pairs. */
+    public static synchronized double expectedMoves(int pairs) {
+        if (pairs < 0) {
+            throw new IllegalArgumentException("Pair count must not be negative: " + pairs);
+        }
+        if (pairs > MAX_CACHED_PAIRS) {
+            return solveRolling(pairs);
+        }
+        if (pairs > solvedPairs) {
+            extendTable(pairs);
+        }
+        return table[index(pairs, 0)];
+    }
+    
+    private static int index(int n, int k) {
+        return n * (n + 1) / 2 + k;
+    }
+    
+    private static void extendTable(int pairs) {
+        table = Arrays.copyOf(table, index(pairs, pairs) + 1);
+        for (int n = solvedPairs + 1; n <= pairs; n++) {
+            int row = index(n, 0);
+            int prev = index(n - 1, 0);
+            for (int k = n; k >= 0; k--) {
+                // k + 1 and k + 2 on this row are already filled when walking k downwards
+                double sameK1 = k + 1 <= n ? table[row + k + 1] : 0;
+                double sameK2 = k + 2 <= n ? table[row + k + 2] : 0;
+                double lessK = k >= 1 ? table[prev + k - 1] : 0;
+                double sameKPrev = k <= n - 1 ? table[prev + k] : 0;
+                table[row + k] = step(n, k, lessK, sameKPrev, sameK1, sameK2);
+            }
+        }
+        solvedPairs = pairs;
+    }
+    
+    private static double solveRolling(int pairs) {
+        double[] prevRow = {0};
+        double[] row = prevRow;
+        for (int n = 1; n <= pairs; n++) {
+            row = new double[n + 1];
+            for (int k = n; k >= 0; k--) {
+                double sameK1 = k + 1 <= n ? row[k + 1] : 0;
+                double sameK2 = k + 2 <= n ? row[k + 2] : 0;
+                double lessK = k >= 1 ? prevRow[k - 1] : 0;
+                double sameKPrev = k <= n - 1 ? prevRow[k] : 0;
+                row[k] = step(n, k, lessK, sameKPrev, sameK1, sameK2);
+            }
+            prevRow = row;
+        }
+        return row[0];
+    }
+    
+    /**
+     * One turn from {@code (n, k)} given E(n-1, k-1), E(n-1, k), E(n, k+1)
+     * and E(n, k+2).
+     */
+    private static double step(int n, int k, double lessK, double sameKPrev, double sameK1, double sameK2) {
+        double unseen = 2 * n - k;
+        
+        // The fresh card matches a known single: take that pair right away
+        double expected = k / unseen * (1 + lessK);
+        
+        double fresh = unseen - k;
+        if (fresh > 0) {
+            double rest = unseen - 1;
+            // Second card unseen: its partner, a known single (matched next move), or new
+            double secondUnseen = 1 / rest * (1 + sameKPrev)
+                + k / rest * (2 + sameKPrev)
+                + (rest - 1 - k) / rest * (1 + (rest - 1 - k > 0 ? sameK2 : 0));
+            // Second card already known: a guaranteed miss that reveals nothing
+            double secondKnown = k >= 1 ? 1 + sameK1 : Double.POSITIVE_INFINITY;
+            expected += fresh / unseen * Math.min(secondUnseen, secondKnown);
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,202 @@
+package com.cfg.cardflipgame.sim;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player that remembers the last {@code capacity} cards it has seen.
+ * With no memory it plays randomly; with unlimited memory it is the
+ * classic perfect-memory player that never turns over a known card twice
+ * without a reason.
+ * <p>
+ * Unremembered cards live in a swap-remove pool so random picks are O(1),
+ * and every buffer is reused between games.
+ */
+public class MemoryStrategy implements PlayerStrategy {
+    
+    private final int capacity;
+    private GameEngine engine;
+    private RandomGenerator random;
+    
+    private int[] pool = new int[0];
+    private int[] poolPos = new int[0];
+    private int poolSize;
+    
+    private boolean[] remembered = new boolean[0];
+    private int[] knownA = new int[0];
+    private int[] knownB = new int[0];
+    private int[] knownPairs = new int[0];
+    private boolean[] knownPairQueued = new boolean[0];
+    private int knownPairCount;
+    
+    // FIFO of remembered cards; solved cards stay in it until they reach the head
+    private int[] ring = new int[0];
+    private int ringHead, ringSize, liveCount;
+    
+    public MemoryStrategy(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Memory capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public void newGame(GameEngine engine, RandomGenerator random) {
+        this.engine = engine;
+        this.random = random;
+        
+        int cards = engine.getConfig().getTotalCards();
+        int pairs = engine.getConfig().getTotalPairs();
+        if (pool.length != cards) {
+            pool = new int[cards];
+            poolPos = new int[cards];
+            remembered = new boolean[cards];
+            ring = new int[cards];
+            knownA = new int[pairs];
+            knownB = new int[pairs];
+            knownPairs = new int[pairs];
+            knownPairQueued = new boolean[pairs];
+        }
+        
+        for (int i = 0; i < cards; i++) {
+            pool[i] = i;
+            poolPos[i] = i;
+        }
+        poolSize = cards;
+        Arrays.fill(remembered, false);
+        Arrays.fill(knownA, -1);
+        Arrays.fill(knownB, -1);
+        Arrays.fill(knownPairQueued, false);
+        knownPairCount = 0;
+        ringHead = ringSize = liveCount = 0;
+    }
+    
+    @Override
+    public int pickFirst() {
+        while (knownPairCount > 0) {
+            int pair = knownPairs[--knownPairCount];
+            knownPairQueued[pair] = false;
+            if (knownA[pair] >= 0 && knownB[pair] >= 0) {
+                return knownA[pair];
+            }
+        }
+        if (poolSize > 0) {
+            return pool[random.nextInt(poolSize)];
+        }
+        return firstFaceDown(-1);
+    }
+    
+    @Override
+    public int pickSecond(int first) {
+        int pair = engine.getCard(first);
+        int partner = knownA[pair] == first ? knownB[pair] : knownA[pair];
+        if (partner >= 0 && partner != first) {
+            return partner;
+        }
+        
+        int available = poolSize - (isInPool(first) ? 1 : 0);
+        if (available <= 0) {
+            return firstFaceDown(first);
+        }
+        int pick;
+        do {
+            pick = pool[random.nextInt(poolSize)];
+        } while (pick == first);
+        return pick;
+    }
+    
+    @Override
+    public void observe(int cardIndex, int pair) {
+        if (capacity == 0 || remembered[cardIndex]) {
+            return;
+        }
+        
+        removeFromPool(cardIndex);
+        remembered[cardIndex] = true;
+        if (knownA[pair] < 0) {
+            knownA[pair] = cardIndex;
+        } else {
+            knownB[pair] = cardIndex;
+            if (!knownPairQueued[pair]) {
+                knownPairQueued[pair] = true;
+                knownPairs[knownPairCount++] = pair;
+            }
+        }
+        
+        ring[(ringHead + ringSize) % ring.length] = cardIndex;
+        ringSize++;
+        liveCount++;
+        
+        while (liveCount > capacity) {
+            int oldest = ring[ringHead];
+            ringHead = (ringHead + 1) % ring.length;
+            ringSize--;
+            if (remembered[oldest]) {
+                forget(oldest);
+                addToPool(oldest);
+            }
+        }
+    }
+    
+    @Override
+    public void turnResolved(int first, int second, boolean match) {
+        if (match) {
+            solved(first);
+            solved(second);
+        }
+    }
+    
+    @Override
+    public String getName() {
+        if (capacity == 0) return "random";
+        if (capacity == Integer.MAX_VALUE) return "perfect";
+        return "memory:" + capacity;
+    }
+    
+    private void solved(int card) {
+        if (remembered[card]) {
+            forget(card);
+        } else {
+            removeFromPool(card);
+        }
+    }
+    
+    private void forget(int card) {
+        remembered[card] = false;
+        liveCount--;
+        int pair = engine.getCard(card);
+        if (knownA[pair] == card) {
+            knownA[pair] = knownB[pair];
+        }
+        knownB[pair] = -1;
+    }
+    
+    private boolean isInPool(int card) {
+        return poolPos[card] >= 0;
+    }
+    
+    private void addToPool(int card) {
+        pool[poolSize] = card;
+        poolPos[card] = poolSize++;
+    }
+    
+    private void removeFromPool(int card) {
+        int pos = poolPos[card];
+        if (pos < 0) return;
+        int last = pool[--poolSize];
+        pool[pos] = last;
+        poolPos[last] = pos;
+        poolPos[card] = -1;
+    }
+    
+    private int firstFaceDown(int exclude) {
+        for (int i = 0; i < pool.length; i++) {
+            if (i != exclude && !engine.isFaceUp(i)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No face-down card left to pick");
+    }
+}
@@ -0,0 +1,130 @@
+package com.cfg.cardflipgame.sim;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless games in parallel and collects the move-count
+ * distribution. Work is split on a fork-join pool; every leaf gets its own
+ * {@link SplittableRandom}, engine, strategy and {@link MoveStats}, so
+ * workers share nothing until the final merge.
+ */
+public final class MonteCarloSimulator {
+    
+    // Leaves per worker; enough slack for work stealing to even out long games
+    private static final int LEAVES_PER_THREAD = 16;
+    
+    private MonteCarloSimulator() {
+    }
+    
+    public static MoveStats run(GameConfig config, Supplier<PlayerStrategy> strategies,
+                                long games, long seed, ForkJoinPool pool) {
+        long leafSize = Math.max(1, games / ((long) pool.getParallelism() * LEAVES_PER_THREAD));
+        return pool.invoke(new SimulationTask(config, strategies, games, leafSize, new SplittableRandom(seed)));
+    }
+    
+    static MoveStats playGames(GameConfig config, PlayerStrategy strategy, long games, SplittableRandom random) {
+        GameEngine engine = new GameEngine(config, random);
+        MoveStats stats = new MoveStats();
+        
+        for (long g = 0; g < games; g++) {
+            engine.deal();
+            strategy.newGame(engine, random);
+            
+            while (!engine.isWon()) {
+                int first = strategy.pickFirst();
+                engine.flip(first);
+                strategy.observe(first, engine.getCard(first));
+                
+                int second = strategy.pickSecond(first);
+                engine.flip(second);
+                strategy.observe(second, engine.getCard(second));
+                
+                strategy.turnResolved(first, second, engine.resolve());
+            }
+            stats.record(engine.getMoves());
+        }
+        return stats;
+    }
+    
+    // Fork/join tasks are Serializable by inheritance but never serialized
+    @SuppressWarnings("serial")
+    private static final class SimulationTask extends RecursiveTask<MoveStats> {
+        private final GameConfig config;
+        private final Supplier<PlayerStrategy> strategies;
+        private final long games;
+        private final long leafSize;
+        private final SplittableRandom random;
+        
+        SimulationTask(GameConfig config, Supplier<PlayerStrategy> strategies,
+                       long games, long leafSize, SplittableRandom random) {
+            this.config = config;
+            this.strategies = strategies;
+            this.games = games;
+            this.leafSize = leafSize;
+            this.random = random;
+        }
+        
+        @Override
+        protected MoveStats compute() {
+            if (games <= leafSize) {
+                return playGames(config, strategies.get(), games, random);
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(config, strategies, half, leafSize, random.split());
+            left.fork();
+            MoveStats right = new SimulationTask(config, strategies, games - half, leafSize, random).compute();
+            return right.merge(left.join());
+        }
+    }
+    
+    /**
+     * Usage: {@code --difficulty=HARD --games=1000000 --strategy=perfect --seed=1}
+     * or {@code --rows=32 --cols=32} for custom boards. Strategies are
+     * {@code random}, {@code perfect} and {@code memory:<k>}.
+     */
+    public static void main(String[] args) {
+        Map<String, String> named = parseNamed(args);
+        
+        GameConfig config = named.containsKey("rows")
+            ? GameConfig.createCustom(Integer.parseInt(named.get("rows")),
+                Integer.parseInt(named.getOrDefault("cols", named.get("rows"))))
+            : GameConfig.of(Difficulty.valueOf(named.getOrDefault("difficulty", "HARD")));
+        long games = Long.parseLong(named.getOrDefault("games", "1000000"));
+        long seed = Long.parseLong(named.getOrDefault("seed", String.valueOf(System.nanoTime())));
+        String spec = named.getOrDefault("strategy", "perfect");
+        int threads = Integer.parseInt(named.getOrDefault("threads",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        MoveStats stats = run(config, () -> PlayerStrategy.parse(spec), games, seed, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        
+        System.out.printf("%s %d×%d, strategy=%s, seed=%d, threads=%d%n",
+            config.getDifficultyName(), config.getGridRows(), config.getGridCols(), spec, seed, threads);
+        System.out.println(stats.summary());
+        System.out.printf("%.0f games/sec (%.2f s)%n", games / seconds, seconds);
+        System.out.print(stats.histogram(24, 50));
+    }
+    
+    public static Map<String, String> parseNamed(String[] args) {
+        Map<String, String> named = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                named.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return named;
+    }
+}
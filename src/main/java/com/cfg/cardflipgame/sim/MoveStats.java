@@ -0,0 +1,110 @@
+package com.cfg.cardflipgame.sim;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Exact histogram of moves-per-game. Workers fill their own instance and
+ * the results are merged at the end, so recording never contends.
+ */
+public class MoveStats {
+    
+    private long[] counts = new long[64];
+    private long games;
+    private long sum;
+    private double sumSquares;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    
+    public void record(int moves) {
+        if (moves >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(moves + 1, counts.length * 2));
+        }
+        counts[moves]++;
+        games++;
+        sum += moves;
+        sumSquares += (double) moves * moves;
+        min = Math.min(min, moves);
+        max = Math.max(max, moves);
+    }
+    
+    public MoveStats merge(MoveStats other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        games += other.games;
+        sum += other.sum;
+        sumSquares += other.sumSquares;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+    
+    public long getGames() { return games; }
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+    
+    public double getMean() {
+        return games == 0 ? 0 : (double) sum / games;
+    }
+    
+    public double getStdDev() {
+        if (games == 0) return 0;
+        double mean = getMean();
+        return Math.sqrt(Math.max(0, sumSquares / games - mean * mean));
+    }
+    
+    /** Smallest move count with at least {@code q} of all games at or below it. */
+    public int percentile(double q) {
+        long target = (long) Math.ceil(q * games);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, target)) {
+                return i;
+            }
+        }
+        return max;
+    }
+    
+    public long countAt(int moves) {
+        return moves < counts.length ? counts[moves] : 0;
+    }
+    
+    public String summary() {
+        return String.format(Locale.ROOT,
+            "games=%d mean=%.3f sd=%.3f min=%d p50=%d p90=%d p99=%d p99.9=%d max=%d",
+            games, getMean(), getStdDev(), min, percentile(0.5), percentile(0.9),
+            percentile(0.99), percentile(0.999), max);
+    }
+    
+    /** Text histogram with {@code bins} equal-width buckets between min and max. */
+    public String histogram(int bins, int width) {
+        if (games == 0) return "";
+        
+        int span = max - min + 1;
+        int binWidth = Math.max(1, (span + bins - 1) / bins);
+        int binCount = (span + binWidth - 1) / binWidth;
+        long[] binned = new long[binCount];
+        long peak = 0;
+        for (int b = 0; b < binCount; b++) {
+            for (int m = min + b * binWidth; m < min + (b + 1) * binWidth && m <= max; m++) {
+                binned[b] += counts[m];
+            }
+            peak = Math.max(peak, binned[b]);
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        for (int b = 0; b < binCount; b++) {
+            int from = min + b * binWidth;
+            int bar = (int) Math.round((double) binned[b] / peak * width);
+            sb.append(String.format(Locale.ROOT, "%6d-%-6d %10d ", from, from + binWidth - 1, binned[b]))
+              .append("#".repeat(bar))
+              .append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cfg.cardflipgame.sim;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A simulated player. One instance plays many games in sequence on a single
+ * worker thread, so implementations may keep and reuse per-game buffers.
+ */
+public interface PlayerStrategy {
+    
+    /** Starts a new game on a freshly dealt engine. */
+    void newGame(GameEngine engine, RandomGenerator random);
+    
+    int pickFirst();
+    
+    int pickSecond(int first);
+    
+    /** Called for every card the player sees turned face up. */
+    void observe(int cardIndex, int pair);
+    
+    /** Called after the engine resolved the turn. */
+    void turnResolved(int first, int second, boolean match);
+    
+    String getName();
+    
+    static PlayerStrategy random() {
+        return new MemoryStrategy(0);
+    }
+    
+    static PlayerStrategy perfectMemory() {
+        return new MemoryStrategy(Integer.MAX_VALUE);
+    }
+    
+    static PlayerStrategy boundedMemory(int k) {
+        return new MemoryStrategy(k);
+    }
+    
+    /** Parses {@code random}, {@code perfect} or {@code memory:<k>}. */
+    static PlayerStrategy parse(String spec) {
+        if (spec.equals("random")) return random();
+        if (spec.equals("perfect")) return perfectMemory();
+        if (spec.startsWith("memory:")) return boundedMemory(Integer.parseInt(spec.substring(7)));
+        throw new IllegalArgumentException("Unknown strategy: " + spec);
+    }
+}
@@ -0,0 +1,80 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.scene.Node;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Keyboard focus cursor of a board view. Arrow keys move it within the
+ * grid and Enter or Space clicks the card under it. It stays hidden
+ * ({@code -1}) until the first arrow key of a board.
+ */
+final class BoardCursor {
+    
+    /** Called with the previous and current card after every move. */
+    interface Moved {
+        void moved(int previous, int current);
+    }
+    
+    private final IntConsumer onActivate;
+    private final Moved onMoved;
+    private int rows, cols;
+    private int index = -1;
+    
+    BoardCursor(Node target, IntConsumer onActivate, Moved onMoved) {
+        this.onActivate = onActivate;
+        this.onMoved = onMoved;
+        target.setFocusTraversable(true);
+        target.addEventHandler(KeyEvent.KEY_PRESSED, this::handleKey);
+    }
+    
+    /** Hides the cursor on a new board of the given size. */
+    void reset(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        index = -1;
+    }
+    
+    int getIndex() { return index; }
+    
+    private void handleKey(KeyEvent e) {
+        if (rows == 0) return;
+        
+        switch (e.getCode()) {
+            case LEFT, RIGHT, UP, DOWN -> {
+                // The first arrow key only shows the cursor in the top-left corner
+                moveTo(index < 0 ? 0 : step(e.getCode()));
+                e.consume();
+            }
+            case ENTER, SPACE -> {
+                if (index >= 0) {
+                    onActivate.accept(index);
+                }
+                e.consume();
+            }
+            default -> {
+            }
+        }
+    }
+    
+    private int step(KeyCode code) {
+        int row = index / cols;
+        int col = index % cols;
+        return switch (code) {
+            case LEFT -> col > 0 ? index - 1 : index;
+            case RIGHT -> col < cols - 1 ? index + 1 : index;
+            case UP -> row > 0 ? index - cols : index;
+            default -> row < rows - 1 ? index + cols : index;
+        };
+    }
+    
+    private void moveTo(int next) {
+        if (next == index) return;
+        
+        int previous = index;
+        index = next;
+        onMoved.moved(previous, next);
+    }
+}
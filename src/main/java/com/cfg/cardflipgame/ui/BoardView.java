@@ -0,0 +1,31 @@
+package com.cfg.cardflipgame.ui;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+import javafx.scene.Node;
+
+/**
+ * A renderer for the card grid. Views only draw engine state; clicks are
+ * reported back through the callback given at construction.
+ */
+public interface BoardView {
+    
+    Node getNode();
+    
+    /** Builds the board for the engine's config and shows its current state. */
+    void bind(GameEngine engine, CardFaces faces);
+    
+    /** Re-reads every card from the engine. */
+    void refresh();
+    
+    /**
+     * Brings one card in line with the engine, animating what changed. Fed
+     * from {@link GameEngine#drainChanges}.
+     */
+    void update(int cardIndex);
+    
+    /** Applies to the current board and to every board bound later. */
+    void setQuality(RenderQuality quality);
+    
+    /** While locked, hover feedback is suppressed because clicks are ignored. */
+    void setLocked(boolean locked);
+}
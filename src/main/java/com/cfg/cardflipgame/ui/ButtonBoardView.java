@@ -0,0 +1,277 @@
+package com.cfg.cardflipgame.ui;
+
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+
+import java.util.function.IntConsumer;
+
+/**
+ * One styled {@link Button} per card in a {@link GridPane}. Buttons come
+ * from a {@link CardNodePool}, so rebinding to a new deal or board size
+ * reuses nodes instead of rebuilding the scene graph. The grid owns all
+ * input: it hit-tests pointer coordinates and runs the keyboard cursor,
+ * so cards carry no handlers of their own.
+ */
+public final class ButtonBoardView implements BoardView {
+    
+    private static final PseudoClass REVEALED = CardButton.REVEALED;
+    private static final PseudoClass HOVERED = CardButton.HOVERED;
+    private static final PseudoClass CURSOR = CardButton.CURSOR;
+    private static final PseudoClass LOCKED = PseudoClass.getPseudoClass("locked");
+    
+    // Effects are immutable while in use, so every matched card shares one glow
+    private static final DropShadow MATCH_GLOW = new DropShadow();
+    static {
+        MATCH_GLOW.setColor(Color.GOLD);
+        MATCH_GLOW.setRadius(20);
+        MATCH_GLOW.setSpread(0.5);
+    }
+    
+    private static final double BOARD_SIZE = 460;
+    private static final double GAP = 8;
+    
+    private final IntConsumer onCardClicked;
+    private final GridPane gameGrid;
+    private final CardNodePool pool = new CardNodePool(this::createCardButton);
+    private final BoardCursor cursor;
+    private GameEngine engine;
+    private FaceAtlas atlas;
+    private GameConfig config;
+    private CardButton[] cardButtons;
+    private RenderQuality quality = RenderQuality.FULL;
+    private int hoveredIndex = -1;
+    private boolean locked = false;
+    
+    public ButtonBoardView(IntConsumer onCardClicked) {
+        this.onCardClicked = onCardClicked;
+        
+        gameGrid = new GridPane();
+        gameGrid.getStyleClass().add("board");
+        gameGrid.setAlignment(Pos.CENTER);
+        gameGrid.setHgap(GAP);
+        gameGrid.setVgap(GAP);
+        gameGrid.setPadding(new Insets(20));
+        
+        gameGrid.setOnMouseMoved(e -> setHovered(indexAt(e.getX(), e.getY())));
+        gameGrid.setOnMouseExited(e -> setHovered(-1));
+        gameGrid.setOnMouseClicked(this::handleMouseClicked);
+        cursor = new BoardCursor(gameGrid, onCardClicked, this::moveCursor);
+    }
+    
+    @Override
+    public Node getNode() {
+        return gameGrid;
+    }
+    
+    @Override
+    public void bind(GameEngine engine, CardFaces faces) {
+        GameConfig previous = config;
+        this.engine = engine;
+        this.config = engine.getConfig();
+        this.atlas = atlasFor(faces, cardSize(config));
+        gameGrid.pseudoClassStateChanged(LOCKED, false);
+        locked = false;
+        hoveredIndex = -1;
+        gameGrid.setCursor(Cursor.DEFAULT);
+        cursor.reset(config.getGridRows(), config.getGridCols());
+        
+        boolean sameLayout = previous != null
+            && previous.getGridRows() == config.getGridRows()
+            && previous.getGridCols() == config.getGridCols()
+            && cardSize(previous) == cardSize(config);
+        
+        if (!sameLayout) {
+            rebuildGrid();
+        } else {
+            for (CardButton button : cardButtons) {
+                button.bindTo(button.getCardIndex());
+            }
+        }
+        
+        refresh();
+    }
+    
+    private void rebuildGrid() {
+        if (cardButtons != null) {
+            for (CardButton button : cardButtons) {
+                pool.release(button);
+            }
+        }
+        
+        double size = cardSize(config);
+        cardButtons = new CardButton[config.getTotalCards()];
+        
+        for (int i = 0; i < config.getTotalCards(); i++) {
+            CardButton card = pool.acquire(size);
+            card.bindTo(i);
+            GridPane.setConstraints(card, i % config.getGridCols(), i / config.getGridCols());
+            cardButtons[i] = card;
+        }
+        
+        gameGrid.getChildren().setAll(cardButtons);
+    }
+    
+    static double cardSize(GameConfig config) {
+        return switch (config.getDifficulty()) {
+            case EASY -> 80;
+            case MEDIUM -> 60;
+            case HARD -> 45;
+            case CUSTOM -> {
+                int span = Math.max(config.getGridRows(), config.getGridCols());
+                yield Math.max(16, Math.min(80, Math.floor((BOARD_SIZE - GAP * (span - 1)) / span)));
+            }
+        };
+    }
+    
+    /** Faces fill the card inside its border, matching the radii in game.css. */
+    private static FaceAtlas atlasFor(CardFaces faces, double size) {
+        boolean tiny = sizeClass(size).equals("tiny");
+        double border = tiny ? 1 : 2;
+        double radius = tiny ? 6 : 12;
+        return faces.atlas(size - 2 * border, 2 * (radius - border));
+    }
+    
+    private static String sizeClass(double size) {
+        if (size >= 70) return "large";
+        if (size >= 55) return "medium";
+        if (size >= 40) return "small";
+        return "tiny";
+    }
+    
+    private CardButton createCardButton(double size) {
+        CardButton button = new CardButton(size, sizeClass(size), this::applyFace);
+        button.setQuality(quality);
+        return button;
+    }
+    
+    private void handleMouseClicked(MouseEvent e) {
+        gameGrid.requestFocus();
+        if (e.getButton() != MouseButton.PRIMARY) return;
+        
+        int index = indexAt(e.getX(), e.getY());
+        if (index >= 0) {
+            onCardClicked.accept(index);
+        }
+    }
+    
+    private void setHovered(int index) {
+        if (index == hoveredIndex) return;
+        
+        if (hoveredIndex >= 0) {
+            CardButton previous = buttonAt(hoveredIndex);
+            previous.pseudoClassStateChanged(HOVERED, false);
+            if (!engine.isFaceUp(hoveredIndex)) {
+                previous.getAnimations().hover(1.0);
+            }
+        }
+        hoveredIndex = index;
+        gameGrid.setCursor(index >= 0 ? Cursor.HAND : Cursor.DEFAULT);
+        if (index >= 0) {
+            CardButton button = buttonAt(index);
+            button.pseudoClassStateChanged(HOVERED, true);
+            if (!engine.isFaceUp(index) && !locked) {
+                button.getAnimations().hover(1.05);
+            }
+        }
+    }
+    
+    private void moveCursor(int previous, int current) {
+        if (previous >= 0) buttonAt(previous).pseudoClassStateChanged(CURSOR, false);
+        if (current >= 0) buttonAt(current).pseudoClassStateChanged(CURSOR, true);
+    }
+    
+    /** Same arithmetic as the canvas view, from the first card's layout position. */
+    private int indexAt(double x, double y) {
+        if (cardButtons == null || cardButtons.length == 0) return -1;
+        
+        double size = cardSize(config);
+        double pitch = size + GAP;
+        double left = x - cardButtons[0].getLayoutX();
+        double top = y - cardButtons[0].getLayoutY();
+        if (left < 0 || top < 0) return -1;
+        
+        int col = (int) (left / pitch);
+        int row = (int) (top / pitch);
+        if (col >= config.getGridCols() || row >= config.getGridRows()) return -1;
+        // Pointers in the gap between cards hit nothing
+        if (left - col * pitch > size || top - row * pitch > size) return -1;
+        return row * config.getGridCols() + col;
+    }
+    
+    private void applyFace(CardButton button, boolean reveal) {
+        int cardIndex = button.getCardIndex();
+        button.setFace(reveal && cardIndex >= 0 ? atlas.get(engine.getCard(cardIndex)) : null, atlas.getSize());
+        // Same predicate as refresh(): solved cards show their face but are not "revealed"
+        button.pseudoClassStateChanged(REVEALED, reveal && cardIndex >= 0 && engine.isRevealed(cardIndex));
+    }
+    
+    private CardButton buttonAt(int cardIndex) {
+        return cardButtons[cardIndex];
+    }
+    
+    @Override
+    public void refresh() {
+        if (cardButtons == null) return;
+        
+        for (int i = 0; i < config.getTotalCards(); i++) {
+            CardButton button = buttonAt(i);
+            
+            button.setFace(engine.isFaceUp(i) ? atlas.get(engine.getCard(i)) : null, atlas.getSize());
+            button.setShownFaceUp(engine.isFaceUp(i));
+            button.pseudoClassStateChanged(REVEALED, engine.isRevealed(i));
+            button.setSolved(engine.isSolved(i), MATCH_GLOW);
+        }
+    }
+    
+    @Override
+    public void setQuality(RenderQuality quality) {
+        if (quality == this.quality) return;
+        
+        this.quality = quality;
+        pool.forEach(button -> button.setQuality(quality));
+        if (cardButtons != null) {
+            for (CardButton button : cardButtons) {
+                button.setQuality(quality);
+            }
+        }
+    }
+    
+    @Override
+    public void setLocked(boolean locked) {
+        this.locked = locked;
+        gameGrid.pseudoClassStateChanged(LOCKED, locked);
+        if (hoveredIndex >= 0 && !engine.isFaceUp(hoveredIndex)) {
+            buttonAt(hoveredIndex).getAnimations().hover(locked ? 1.0 : 1.05);
+        }
+    }
+    
+    @Override
+    public void update(int cardIndex) {
+        CardButton button = buttonAt(cardIndex);
+        boolean faceUp = engine.isFaceUp(cardIndex);
+        boolean solved = engine.isSolved(cardIndex);
+        
+        if (faceUp != button.isShownFaceUp()) {
+            button.setShownFaceUp(faceUp);
+            button.getAnimations().flip(faceUp);
+        }
+        if (solved != button.isShownSolved()) {
+            button.setSolved(solved, MATCH_GLOW);
+            button.pseudoClassStateChanged(REVEALED, engine.isRevealed(cardIndex));
+            if (solved) {
+                button.getAnimations().pulse();
+            }
+        }
+    }
+}
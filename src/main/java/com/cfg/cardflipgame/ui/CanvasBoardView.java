@@ -0,0 +1,177 @@
+package com.cfg.cardflipgame.ui;
+
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Draws the whole board on a single {@link Canvas} for boards far beyond
+ * what one node per card can handle. Every change repaints only the cells
+ * it touches, so the cost of a flip does not grow with the board.
+ */
+public final class CanvasBoardView implements BoardView {
+    
+    private static final double BOARD_SIZE = 480;
+    private static final double MIN_CELL = 6;
+    private static final double MAX_CELL = 80;
+    
+    private static final Color BACK = Color.web("#eef0f2");
+    private static final Color BACK_HOVER = Color.web("#ffffff");
+    private static final Color SOLVED_OUTLINE = Color.GOLD;
+    private static final Color CURSOR_OUTLINE = Color.web("#ffd54f");
+    
+    private final IntConsumer onCardClicked;
+    private final StackPane container;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final BoardCursor cursor;
+    private GameEngine engine;
+    private FaceAtlas atlas;
+    private GameConfig config;
+    private double cellSize, gap, arc;
+    private int hoveredIndex = -1;
+    private boolean locked = false;
+    
+    public CanvasBoardView(IntConsumer onCardClicked) {
+        this.onCardClicked = onCardClicked;
+        
+        canvas = new Canvas();
+        gc = canvas.getGraphicsContext2D();
+        
+        canvas.setOnMouseMoved(this::handleMouseMoved);
+        canvas.setOnMouseExited(e -> setHovered(-1));
+        canvas.setOnMouseClicked(e -> {
+            container.requestFocus();
+            int index = indexAt(e.getX(), e.getY());
+            if (index >= 0 && e.getButton() == MouseButton.PRIMARY) {
+                onCardClicked.accept(index);
+            }
+        });
+        
+        container = new StackPane(canvas);
+        cursor = new BoardCursor(container, onCardClicked, (previous, current) -> {
+            if (previous >= 0) paintCell(previous);
+            if (current >= 0) paintCell(current);
+        });
+        container.focusedProperty().addListener((obs, was, focused) -> {
+            if (engine != null && cursor.getIndex() >= 0) {
+                paintCell(cursor.getIndex());
+            }
+        });
+    }
+    
+    @Override
+    public Node getNode() {
+        return container;
+    }
+    
+    @Override
+    public void bind(GameEngine engine, CardFaces faces) {
+        this.engine = engine;
+        this.config = engine.getConfig();
+        
+        int span = Math.max(config.getGridRows(), config.getGridCols());
+        gap = span > 32 ? 1 : 2;
+        cellSize = Math.max(MIN_CELL, Math.min(MAX_CELL, Math.floor((BOARD_SIZE - gap * (span - 1)) / span)));
+        arc = cellSize * 0.25;
+        atlas = faces.atlas(cellSize, arc);
+        hoveredIndex = -1;
+        locked = false;
+        cursor.reset(config.getGridRows(), config.getGridCols());
+        
+        canvas.setWidth(config.getGridCols() * (cellSize + gap) - gap);
+        canvas.setHeight(config.getGridRows() * (cellSize + gap) - gap);
+        
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        if (engine == null) return;
+        
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < config.getTotalCards(); i++) {
+            paintCell(i);
+        }
+    }
+    
+    @Override
+    public void update(int cardIndex) {
+        paintCell(cardIndex);
+    }
+    
+    /** Cells are plain fills and images, so every level draws the same. */
+    @Override
+    public void setQuality(RenderQuality quality) {
+    }
+    
+    @Override
+    public void setLocked(boolean locked) {
+        this.locked = locked;
+        if (locked) {
+            setHovered(-1);
+        }
+    }
+    
+    private void handleMouseMoved(MouseEvent e) {
+        int index = indexAt(e.getX(), e.getY());
+        setHovered(locked || (index >= 0 && engine.isFaceUp(index)) ? -1 : index);
+    }
+    
+    private void setHovered(int index) {
+        if (index == hoveredIndex) return;
+        
+        int previous = hoveredIndex;
+        hoveredIndex = index;
+        if (previous >= 0) paintCell(previous);
+        if (index >= 0) paintCell(index);
+    }
+    
+    private int indexAt(double x, double y) {
+        if (engine == null) return -1;
+        
+        double pitch = cellSize + gap;
+        int col = (int) (x / pitch);
+        int row = (int) (y / pitch);
+        if (x < 0 || y < 0 || col >= config.getGridCols() || row >= config.getGridRows()) {
+            return -1;
+        }
+        // Clicks that land in the gap between cards hit nothing
+        if (x - col * pitch > cellSize || y - row * pitch > cellSize) {
+            return -1;
+        }
+        return row * config.getGridCols() + col;
+    }
+    
+    private void paintCell(int index) {
+        double x = (index % config.getGridCols()) * (cellSize + gap);
+        double y = (index / config.getGridCols()) * (cellSize + gap);
+        
+        gc.clearRect(x, y, cellSize, cellSize);
+        
+        if (engine.isFaceUp(index)) {
+            gc.drawImage(atlas.get(engine.getCard(index)), x, y, cellSize, cellSize);
+            if (engine.isSolved(index)) {
+                gc.setStroke(SOLVED_OUTLINE);
+                gc.setLineWidth(Math.max(1, cellSize / 20));
+                gc.strokeRoundRect(x + 1, y + 1, cellSize - 2, cellSize - 2, arc, arc);
+            }
+        } else {
+            gc.setFill(index == hoveredIndex ? BACK_HOVER : BACK);
+            gc.fillRoundRect(x, y, cellSize, cellSize, arc, arc);
+        }
+        if (index == cursor.getIndex() && container.isFocused()) {
+            gc.setStroke(CURSOR_OUTLINE);
+            gc.setLineWidth(Math.max(1, cellSize / 20));
+            gc.strokeRoundRect(x + 1, y + 1, cellSize - 2, cellSize - 2, arc, arc);
+        }
+    }
+}
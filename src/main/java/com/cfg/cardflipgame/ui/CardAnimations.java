@@ -0,0 +1,115 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.animation.Animation;
+import javafx.animation.RotateTransition;
+import javafx.animation.ScaleTransition;
+import javafx.scene.transform.Rotate;
+import javafx.util.Duration;
+
+/**
+ * The fixed animation set of one card: hover, the two halves of a flip and
+ * the match pulse. Everything is allocated once per pooled button and
+ * restarted or retargeted on each use.
+ */
+final class CardAnimations {
+    
+    /** Applies the new face while the card is edge-on. */
+    interface FaceSwap {
+        void apply(CardButton button, boolean reveal);
+    }
+    
+    private static final Duration PULSE = Duration.millis(300);
+    
+    private final CardButton button;
+    private final FaceSwap faceSwap;
+    private final HoverScale hover;
+    private final RotateTransition flipOut;
+    private final RotateTransition flipIn;
+    private final ScaleTransition pulse;
+    private boolean revealTarget;
+    private RenderQuality quality = RenderQuality.FULL;
+    
+    CardAnimations(CardButton button, FaceSwap faceSwap) {
+        this.button = button;
+        this.faceSwap = faceSwap;
+        this.hover = new HoverScale(button);
+        
+        Duration flipHalf = Duration.millis(quality.getFlipHalfMillis());
+        flipOut = new RotateTransition(flipHalf, button);
+        flipOut.setAxis(Rotate.Y_AXIS);
+        flipOut.setToAngle(90);
+        
+        flipIn = new RotateTransition(flipHalf, button);
+        flipIn.setAxis(Rotate.Y_AXIS);
+        flipIn.setFromAngle(90);
+        flipIn.setToAngle(0);
+        
+        flipOut.setOnFinished(e -> {
+            faceSwap.apply(button, revealTarget);
+            flipIn.playFromStart();
+        });
+        
+        pulse = new ScaleTransition(PULSE, button);
+        pulse.setFromX(1.0);
+        pulse.setFromY(1.0);
+        pulse.setToX(1.2);
+        pulse.setToY(1.2);
+        pulse.setAutoReverse(true);
+        pulse.setCycleCount(2);
+    }
+    
+    /** Takes effect from the next animation; a running one finishes as it started. */
+    void setQuality(RenderQuality quality) {
+        this.quality = quality;
+        if (quality.getFlipHalfMillis() > 0) {
+            Duration flipHalf = Duration.millis(quality.getFlipHalfMillis());
+            flipOut.setDuration(flipHalf);
+            flipIn.setDuration(flipHalf);
+        }
+        if (!quality.hasMotion()) {
+            hover.stop();
+            button.setScaleX(1.0);
+            button.setScaleY(1.0);
+        }
+    }
+    
+    void hover(double scale) {
+        if (quality.hasMotion() && pulse.getStatus() != Animation.Status.RUNNING) {
+            hover.scaleTo(scale);
+        }
+    }
+    
+    /**
+     * Starts a flip towards the given face. A flip already in progress is
+     * continued from the card's current angle rather than restarted.
+     */
+    void flip(boolean reveal) {
+        revealTarget = reveal;
+        if (quality.getFlipHalfMillis() == 0) {
+            flipOut.stop();
+            flipIn.stop();
+            button.setRotate(0);
+            faceSwap.apply(button, reveal);
+            return;
+        }
+        if (flipOut.getStatus() == Animation.Status.RUNNING) {
+            return;
+        }
+        flipIn.stop();
+        flipOut.setFromAngle(button.getRotate());
+        flipOut.playFromStart();
+    }
+    
+    void pulse() {
+        if (!quality.hasMotion()) return;
+        hover.stop();
+        pulse.playFromStart();
+    }
+    
+    void stopAll() {
+        hover.stop();
+        flipOut.stop();
+        flipIn.stop();
+        pulse.stop();
+    }
+}
@@ -0,0 +1,118 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.css.PseudoClass;
+import javafx.scene.CacheHint;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+/**
+ * A card node that can be rebound to another board position. Cards are
+ * mouse-transparent and carry no handlers: the board hit-tests input and
+ * drives the {@code hovered} and {@code cursor} pseudo-classes, so pooled
+ * buttons keep working across deals and board sizes.
+ */
+class CardButton extends Button {
+    
+    static final PseudoClass REVEALED = PseudoClass.getPseudoClass("revealed");
+    static final PseudoClass SOLVED = PseudoClass.getPseudoClass("solved");
+    static final PseudoClass HOVERED = PseudoClass.getPseudoClass("hovered");
+    static final PseudoClass CURSOR = PseudoClass.getPseudoClass("cursor");
+    
+    // Effects are immutable while in use, so every card shares one shadow
+    private static final Effect SHADOW = new DropShadow(5, Color.rgb(0, 0, 0, 0.2));
+    
+    private final double size;
+    private final ImageView face = new ImageView();
+    private final CardAnimations animations;
+    private int cardIndex = -1;
+    private boolean shownFaceUp = false;
+    private boolean shownSolved = false;
+    private Effect glow;
+    private RenderQuality quality = RenderQuality.FULL;
+    
+    CardButton(double size, String sizeClass, CardAnimations.FaceSwap faceSwap) {
+        this.size = size;
+        this.animations = new CardAnimations(this, faceSwap);
+        
+        setPrefSize(size, size);
+        setMinSize(size, size);
+        setMaxSize(size, size);
+        getStyleClass().addAll("card", sizeClass);
+        setCacheHint(CacheHint.SPEED);
+        setMouseTransparent(true);
+        setFocusTraversable(false);
+        setEffect(SHADOW);
+        
+        face.setSmooth(true);
+        setGraphic(face);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+    
+    double getSize() { return size; }
+    int getCardIndex() { return cardIndex; }
+    boolean isShownFaceUp() { return shownFaceUp; }
+    boolean isShownSolved() { return shownSolved; }
+    CardAnimations getAnimations() { return animations; }
+    
+    /** Shows a pre-rendered face, or the card back for {@code null}. */
+    void setFace(Image image, double faceSize) {
+        face.setFitWidth(faceSize);
+        face.setFitHeight(faceSize);
+        face.setImage(image);
+    }
+    
+    /** Records the face the card is showing or flipping towards. */
+    void setShownFaceUp(boolean faceUp) {
+        this.shownFaceUp = faceUp;
+    }
+    
+    /** Marks the card solved with {@code glow}, or returns it to the plain style. */
+    void setSolved(boolean solved, Effect glow) {
+        this.shownSolved = solved;
+        this.glow = glow;
+        updateEffect();
+        pseudoClassStateChanged(SOLVED, solved);
+    }
+    
+    /** Below {@link RenderQuality#FULL} the card is drawn from a cached bitmap. */
+    void setQuality(RenderQuality quality) {
+        this.quality = quality;
+        setCache(quality.isCached());
+        animations.setQuality(quality);
+        updateEffect();
+    }
+    
+    private void updateEffect() {
+        if (!quality.hasEffects()) {
+            setEffect(null);
+        } else {
+            setEffect(shownSolved ? glow : SHADOW);
+        }
+    }
+    
+    void bindTo(int cardIndex) {
+        this.cardIndex = cardIndex;
+        
+        animations.stopAll();
+        setRotate(0);
+        setScaleX(1.0);
+        setScaleY(1.0);
+        face.setImage(null);
+        shownFaceUp = false;
+        shownSolved = false;
+        updateEffect();
+        pseudoClassStateChanged(REVEALED, false);
+        pseudoClassStateChanged(SOLVED, false);
+        pseudoClassStateChanged(HOVERED, false);
+        pseudoClassStateChanged(CURSOR, false);
+    }
+    
+    void unbind() {
+        cardIndex = -1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Symbol and color for every pair id of a board, shared by all renderers,
+ * plus one {@link FaceAtlas} of pre-rendered faces per card size in use.
+ * Instances are reused for every deal with the same pair count.
+ * <p>
+ * Pairs past the emoji set get procedural faces from {@link FaceGenerator}
+ * on a pale background, so large boards never repeat a face. Their colors
+ * are computed on demand rather than stored. Boards with more pairs than
+ * {@link #MAX_PAIRS} cannot be given distinct faces and are rejected.
+ */
+public class CardFaces {
+    
+    private static final String[] SYMBOLS = {
+        "🎮", "🎯", "🎲", "🎪", "🎨", "🎭", "🎬", "🎤", "🎸", "🎹", "🎺", "🎻",
+        "⚽", "🏀", "🏈", "⚾", "🎾", "🏐", "🏓", "🏸", "🥊", "🏆", "🥇", "🥈",
+        "🌟", "⭐", "✨", "💫", "🌙", "☀️", "🌈", "⚡", "🔥", "💎", "🎊", "🎉",
+        "🦄", "🐉", "🦋", "🌸", "🌺", "🌻", "🌷", "🌹", "🍀", "🌿", "🍃", "🌱",
+        "🎁", "🎈", "🎀", "💝", "💖", "💕", "💗", "💓", "💘", "💞", "💌", "💐"
+    };
+    
+    /** Every emoji plus every generated face. */
+    public static final int MAX_PAIRS = SYMBOLS.length + FaceGenerator.DISTINCT;
+    
+    private final int pairCount;
+    private final Color[] cardColors;
+    private final List<FaceAtlas> atlases = new ArrayList<>();
+    
+    public CardFaces(int pairCount) {
+        if (pairCount > MAX_PAIRS) {
+            throw new IllegalArgumentException("Only " + MAX_PAIRS + " distinct faces for " + pairCount + " pairs");
+        }
+        this.pairCount = pairCount;
+        this.cardColors = new Color[Math.min(pairCount, SYMBOLS.length)];
+        
+        for (int i = 0; i < cardColors.length; i++) {
+            double hue = (double) i / pairCount * 360;
+            cardColors[i] = Color.hsb(hue, 0.8, 0.9);
+        }
+    }
+    
+    public int getPairCount() { return pairCount; }
+    
+    /** The emoji for a pair, or a shape glyph standing in for a generated face. */
+    public String getSymbol(int pair) {
+        return isGenerated(pair) ? FaceGenerator.glyph(generatedId(pair)) : SYMBOLS[pair];
+    }
+    
+    public Color getColor(int pair) {
+        return isGenerated(pair) ? Color.hsb((double) pair / pairCount * 360, 0.2, 0.98) : cardColors[pair];
+    }
+    
+    boolean isGenerated(int pair) {
+        return pair >= SYMBOLS.length;
+    }
+    
+    int generatedId(int pair) {
+        return pair - SYMBOLS.length;
+    }
+    
+    /** Pair ids that have a hand-picked emoji face. */
+    static int symbolCount() {
+        return SYMBOLS.length;
+    }
+    
+    /** The atlas for faces {@code size} pixels wide with rounded corners of {@code arc}. */
+    FaceAtlas atlas(double size, double arc) {
+        for (FaceAtlas atlas : atlases) {
+            if (atlas.matches(size, arc)) {
+                return atlas;
+            }
+        }
+        FaceAtlas atlas = new FaceAtlas(this, size, arc, Screen.getPrimary().getOutputScaleX());
+        atlases.add(atlas);
+        return atlas;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cfg.cardflipgame.ui;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Free card buttons grouped by pixel size. Buttons of one size are fully
+ * interchangeable, so a new round or difficulty only rebinds them.
+ */
+class CardNodePool {
+    
+    private final Map<Double, ArrayDeque<CardButton>> free = new HashMap<>();
+    private final DoubleFunction<CardButton> factory;
+    
+    CardNodePool(DoubleFunction<CardButton> factory) {
+        this.factory = factory;
+    }
+    
+    CardButton acquire(double size) {
+        ArrayDeque<CardButton> bucket = free.get(size);
+        CardButton button = bucket == null ? null : bucket.poll();
+        return button != null ? button : factory.apply(size);
+    }
+    
+    /** Visits every free button, e.g. to restyle them along with the board. */
+    void forEach(Consumer<CardButton> action) {
+        for (ArrayDeque<CardButton> bucket : free.values()) {
+            bucket.forEach(action);
+        }
+    }
+    
+    void release(CardButton button) {
+        button.unbind();
+        free.computeIfAbsent(button.getSize(), k -> new ArrayDeque<>()).push(button);
+    }
+}
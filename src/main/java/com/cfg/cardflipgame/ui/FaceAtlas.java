@@ -0,0 +1,112 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered card faces for one face size, indexed by pair id. Each face
+ * is drawn once, on its first reveal, and revealing it again is an image
+ * swap. Faces are rendered at the screen's output scale so they stay sharp
+ * on HiDPI displays.
+ * <p>
+ * Boards with generated faces keep as many images as fit in
+ * {@link #MAX_CACHED_PIXELS}, which at ordinary card sizes is every pair of
+ * the largest board; only faces too big for that drop the least recently used
+ * image. Nothing is drawn up front either way.
+ */
+final class FaceAtlas {
+    
+    private static final double MIN_SYMBOL_SIZE = 16;
+    // 64 MB of ARGB per atlas
+    static final long MAX_CACHED_PIXELS = 16L << 20;
+    private static final int MIN_CACHED = 64;
+    
+    private final CardFaces faces;
+    private final double size;
+    private final double arc;
+    private final double scale;
+    private final Image[] images;
+    private final Map<Integer, Image> recent;
+    private Canvas canvas;
+    private SnapshotParameters parameters;
+    
+    FaceAtlas(CardFaces faces, double size, double arc, double scale) {
+        this.faces = faces;
+        this.size = size;
+        this.arc = arc;
+        this.scale = scale;
+        int capacity = capacity(faces.getPairCount(), size, scale);
+        if (faces.getPairCount() <= CardFaces.symbolCount() || capacity >= faces.getPairCount()) {
+            this.images = new Image[faces.getPairCount()];
+            this.recent = null;
+        } else {
+            this.images = null;
+            this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+    
+    /** How many faces of {@code size} at {@code scale} fit in the budget, up to {@code pairCount}. */
+    static int capacity(int pairCount, double size, double scale) {
+        double side = Math.ceil(size * scale);
+        long pixels = (long) Math.max(1, side * side);
+        return (int) Math.min(pairCount, Math.max(MIN_CACHED, MAX_CACHED_PIXELS / pixels));
+    }
+    
+    boolean matches(double size, double arc) {
+        return this.size == size && this.arc == arc;
+    }
+    
+    double getSize() { return size; }
+    
+    Image get(int pair) {
+        if (images == null) {
+            return recent.computeIfAbsent(pair, this::render);
+        }
+        Image image = images[pair];
+        if (image == null) {
+            image = render(pair);
+            images[pair] = image;
+        }
+        return image;
+    }
+    
+    private Image render(int pair) {
+        if (canvas == null) {
+            canvas = new Canvas(Math.ceil(size * scale), Math.ceil(size * scale));
+            parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.scale(scale, scale);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.setFont(Font.font(size * 0.4));
+        }
+        
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, size, size);
+        gc.setFill(faces.getColor(pair));
+        gc.fillRoundRect(0, 0, size, size, arc, arc);
+        if (faces.isGenerated(pair)) {
+            FaceGenerator.draw(gc, faces.generatedId(pair), size);
+        } else if (size >= MIN_SYMBOL_SIZE) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(faces.getSymbol(pair), size / 2, size / 2);
+        }
+        return canvas.snapshot(parameters, null);
+    }
+}
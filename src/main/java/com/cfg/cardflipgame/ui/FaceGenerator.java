@@ -0,0 +1,184 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws procedural card faces for pairs beyond the emoji set. A face id is
+ * split into shape, ink, pattern, count and frame, with the shape varying fastest
+ * so neighbouring ids differ in the most obvious attribute. Every id below
+ * {@link #DISTINCT} gets a unique combination; there are no faces past it.
+ */
+final class FaceGenerator {
+    
+    private static final String[] SHAPE_GLYPHS = {"●", "■", "▲", "◆", "★", "⬢", "✚", "◯"};
+    private static final Color[] INKS = {
+        Color.web("#1b1b1b"), Color.web("#d62828"), Color.web("#1d4ed8"), Color.web("#15803d"),
+        Color.web("#7e22ce"), Color.web("#ea580c"), Color.web("#0e7490"), Color.web("#be185d"),
+        Color.web("#854d0e"), Color.web("#4d7c0f")
+    };
+    private static final int SHAPES = SHAPE_GLYPHS.length;
+    private static final int PATTERNS = 6;
+    private static final int COUNTS = 4;
+    private static final int FRAMES = 2;
+    private static final int[] RADICES = {SHAPES, INKS.length, PATTERNS, COUNTS, FRAMES};
+    
+    static final int DISTINCT = SHAPES * INKS.length * PATTERNS * COUNTS * FRAMES;
+    
+    private FaceGenerator() {
+    }
+    
+    /** A one-character stand-in for the face where only text fits. */
+    static String glyph(int id) {
+        return SHAPE_GLYPHS[id % SHAPES];
+    }
+    
+    /** Shape, ink, pattern, count - 1 and frame of face {@code id}, as indices. */
+    static int[] attributes(int id) {
+        if (id < 0 || id >= DISTINCT) {
+            throw new IllegalArgumentException("No generated face " + id + "; there are " + DISTINCT);
+        }
+        int[] attributes = new int[RADICES.length];
+        for (int i = 0; i < RADICES.length; i++) {
+            attributes[i] = id % RADICES[i];
+            id /= RADICES[i];
+        }
+        return attributes;
+    }
+    
+    /** Draws face {@code id} centered in a {@code size}×{@code size} cell at the origin. */
+    static void draw(GraphicsContext gc, int id, double size) {
+        int[] attributes = attributes(id);
+        int shape = attributes[0];
+        Color ink = INKS[attributes[1]];
+        int pattern = attributes[2];
+        int count = attributes[3] + 1;
+        boolean framed = attributes[4] == 1;
+        
+        if (framed) {
+            gc.setStroke(ink);
+            gc.setLineWidth(Math.max(1, size * 0.04));
+            double inset = size * 0.08;
+            gc.strokeRoundRect(inset, inset, size - 2 * inset, size - 2 * inset, size * 0.15, size * 0.15);
+        }
+        
+        double radius = size * (count == 1 ? 0.3 : count == 2 ? 0.2 : 0.17);
+        double spread = size * 0.22;
+        for (int i = 0; i < count; i++) {
+            double cx = size / 2, cy = size / 2;
+            if (count == 2) {
+                cx += (i == 0 ? -spread : spread);
+            } else if (count == 3) {
+                double angle = Math.PI * 2 * i / 3 - Math.PI / 2;
+                cx += Math.cos(angle) * spread;
+                cy += Math.sin(angle) * spread;
+            } else if (count == 4) {
+                cx += (i % 2 == 0 ? -spread : spread);
+                cy += (i < 2 ? -spread : spread);
+            }
+            drawShape(gc, shape, pattern, ink, cx, cy, radius);
+        }
+    }
+    
+    private static void drawShape(GraphicsContext gc, int shape, int pattern, Color ink,
+                                  double cx, double cy, double r) {
+        double line = Math.max(1, r * 0.18);
+        gc.setFill(ink);
+        gc.setStroke(ink);
+        gc.setLineWidth(line);
+        
+        tracePath(gc, shape, cx, cy, r);
+        switch (pattern) {
+            case 0 -> gc.fill();
+            case 1 -> gc.stroke();
+            default -> {
+                gc.save();
+                gc.clip();
+                fillPattern(gc, pattern, cx, cy, r, line);
+                gc.restore();
+                tracePath(gc, shape, cx, cy, r);
+                gc.stroke();
+            }
+        }
+    }
+    
+    private static void fillPattern(GraphicsContext gc, int pattern, double cx, double cy, double r, double line) {
+        double left = cx - r, top = cy - r, span = 2 * r;
+        switch (pattern) {
+            case 2 -> {
+                // Diagonal stripes
+                for (double d = -span; d < span; d += line * 2.5) {
+                    gc.strokeLine(left + d, top + span, left + d + span, top);
+                }
+            }
+            case 3 -> {
+                // Dots
+                double step = Math.max(2, r / 2.5);
+                for (double y = top + step / 2; y < top + span; y += step) {
+                    for (double x = left + step / 2; x < left + span; x += step) {
+                        gc.fillOval(x - step / 4, y - step / 4, step / 2, step / 2);
+                    }
+                }
+            }
+            case 4 -> gc.fillRect(left, top, r, span);
+            default -> {
+                // Checkerboard
+                double step = Math.max(2, r / 2);
+                int row = 0;
+                for (double y = top; y < top + span; y += step, row++) {
+                    int col = row % 2;
+                    for (double x = left + col * step; x < left + span; x += step * 2) {
+                        gc.fillRect(x, y, step, step);
+                    }
+                }
+            }
+        }
+    }
+    
+    private static void tracePath(GraphicsContext gc, int shape, double cx, double cy, double r) {
+        gc.beginPath();
+        switch (shape) {
+            case 0 -> gc.arc(cx, cy, r, r, 0, 360);
+            case 1 -> gc.rect(cx - r * 0.85, cy - r * 0.85, r * 1.7, r * 1.7);
+            case 2 -> polygon(gc, cx, cy + r * 0.15, r * 1.1, 3, -Math.PI / 2);
+            case 3 -> polygon(gc, cx, cy, r, 4, -Math.PI / 2);
+            case 4 -> star(gc, cx, cy, r);
+            case 5 -> polygon(gc, cx, cy, r, 6, 0);
+            case 6 -> cross(gc, cx, cy, r);
+            default -> {
+                // Ring: the inner circle runs the other way, so under the default
+                // non-zero fill rule it winds back to zero and stays a hole
+                gc.arc(cx, cy, r, r, 0, 360);
+                gc.moveTo(cx + r * 0.5, cy);
+                gc.arc(cx, cy, r * 0.5, r * 0.5, 0, -360);
+            }
+        }
+        gc.closePath();
+    }
+    
+    private static void polygon(GraphicsContext gc, double cx, double cy, double r, int sides, double start) {
+        for (int i = 0; i < sides; i++) {
+            double angle = start + Math.PI * 2 * i / sides;
+            double x = cx + Math.cos(angle) * r, y = cy + Math.sin(angle) * r;
+            if (i == 0) gc.moveTo(x, y); else gc.lineTo(x, y);
+        }
+    }
+    
+    private static void star(GraphicsContext gc, double cx, double cy, double r) {
+        for (int i = 0; i < 10; i++) {
+            double angle = -Math.PI / 2 + Math.PI * i / 5;
+            double radius = i % 2 == 0 ? r : r * 0.45;
+            double x = cx + Math.cos(angle) * radius, y = cy + Math.sin(angle) * radius;
+            if (i == 0) gc.moveTo(x, y); else gc.lineTo(x, y);
+        }
+    }
+    
+    private static void cross(GraphicsContext gc, double cx, double cy, double r) {
+        double a = r * 0.35;
+        double[] xs = {-a, a, a, r, r, a, a, -a, -a, -r, -r, -a};
+        double[] ys = {-r, -r, -a, -a, a, a, r, r, a, a, -a, -a};
+        for (int i = 0; i < xs.length; i++) {
+            if (i == 0) gc.moveTo(cx + xs[i], cy + ys[i]); else gc.lineTo(cx + xs[i], cy + ys[i]);
+        }
+    }
+}
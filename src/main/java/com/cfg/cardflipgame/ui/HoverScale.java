@@ -0,0 +1,39 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.animation.ScaleTransition;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+/**
+ * A single reusable scale transition per node. Entering and leaving
+ * retarget the same transition from the node's current scale, so fast
+ * mouse movement never stacks competing animations.
+ */
+public final class HoverScale {
+    
+    private static final Duration DURATION = Duration.millis(100);
+    
+    private final ScaleTransition transition;
+    
+    HoverScale(Node node) {
+        this.transition = new ScaleTransition(DURATION, node);
+    }
+    
+    public static HoverScale install(Node node, double hoverScale) {
+        HoverScale hover = new HoverScale(node);
+        node.setOnMouseEntered(e -> hover.scaleTo(hoverScale));
+        node.setOnMouseExited(e -> hover.scaleTo(1.0));
+        return hover;
+    }
+    
+    void scaleTo(double scale) {
+        transition.stop();
+        transition.setToX(scale);
+        transition.setToY(scale);
+        transition.playFromStart();
+    }
+    
+    void stop() {
+        transition.stop();
+    }
+}
@@ -0,0 +1,137 @@
+package com.cfg.cardflipgame.ui;
+
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.MatchHistory;
+import javafx.collections.ObservableListBase;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A virtualized list over a {@link MatchHistory}. Items are just row
+ * numbers into the history, so a match appends one row with a single
+ * change event and only the visible cells are ever laid out.
+ */
+public class MatchHistoryView {
+    
+    private static final double FACE_SIZE = 28;
+    private static final double FACE_ARC = 10;
+    
+    private final ListView<Integer> list;
+    private final Rows rows = new Rows();
+    private MatchHistory history;
+    private GameEngine engine;
+    private FaceAtlas atlas;
+    
+    public MatchHistoryView() {
+        list = new ListView<>(rows);
+        list.getStyleClass().add("match-history");
+        list.setFocusTraversable(false);
+        list.setFixedCellSize(FACE_SIZE + 12);
+        list.setCellFactory(view -> new MatchCell());
+    }
+    
+    public Node getNode() {
+        return list;
+    }
+    
+    /** Shows {@code history} for the game in {@code engine}, including entries it already has. */
+    public void bind(MatchHistory history, GameEngine engine, CardFaces faces) {
+        this.history = history;
+        this.engine = engine;
+        this.atlas = faces.atlas(FACE_SIZE, FACE_ARC);
+        rows.resize(history.size());
+        if (history.size() > 0) {
+            list.scrollTo(history.size() - 1);
+        }
+    }
+    
+    /** The history gained one entry at the end. */
+    public void appended() {
+        rows.append();
+        list.scrollTo(rows.size() - 1);
+    }
+    
+    private final class Rows extends ObservableListBase<Integer> {
+        
+        private int size = 0;
+        
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, size);
+            return index;
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        void append() {
+            beginChange();
+            nextAdd(size, size + 1);
+            size++;
+            endChange();
+        }
+        
+        void resize(int newSize) {
+            beginChange();
+            if (size > 0) {
+                nextRemove(0, indices(size));
+            }
+            size = newSize;
+            if (newSize > 0) {
+                nextAdd(0, newSize);
+            }
+            endChange();
+        }
+        
+        private List<Integer> indices(int count) {
+            return new AbstractList<>() {
+                @Override
+                public Integer get(int index) { return index; }
+                
+                @Override
+                public int size() { return count; }
+            };
+        }
+    }
+    
+    private final class MatchCell extends ListCell<Integer> {
+        
+        private final ImageView face = new ImageView();
+        
+        MatchCell() {
+            face.setFitWidth(FACE_SIZE);
+            face.setFitHeight(FACE_SIZE);
+            getStyleClass().add("match-entry");
+        }
+        
+        @Override
+        protected void updateItem(Integer row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null || row >= history.size()) {
+                setText(null);
+                setGraphic(null);
+                return;
+            }
+            
+            int card1 = history.getFirstCard(row);
+            face.setImage(atlas.get(engine.getCard(card1)));
+            setGraphic(face);
+            setText(String.format("#%d  move %d  %s  (%d, %d)", row + 1, history.getMove(row),
+                formatElapsed(history.getElapsedMillis(row)), card1, history.getSecondCard(row)));
+        }
+    }
+    
+    private static String formatElapsed(long millis) {
+        if (millis < 0) return "--:--";
+        long seconds = millis / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+}
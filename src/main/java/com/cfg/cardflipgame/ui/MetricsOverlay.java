@@ -0,0 +1,66 @@
+package com.cfg.cardflipgame.ui;
+
+import com.cfg.cardflipgame.metrics.UiMetrics;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+/**
+ * Corner overlay showing live {@link UiMetrics} percentiles. It refreshes
+ * twice a second while visible and does no work while hidden.
+ */
+public final class MetricsOverlay {
+    
+    private final UiMetrics metrics;
+    private final Label text = new Label();
+    private final Timeline refresh;
+    private String status = "";
+    
+    public MetricsOverlay(UiMetrics metrics) {
+        this.metrics = metrics;
+        
+        text.getStyleClass().add("metrics-overlay");
+        text.setFont(Font.font("Consolas", 12));
+        text.setPadding(new Insets(8));
+        text.setMouseTransparent(true);
+        text.setVisible(false);
+        StackPane.setAlignment(text, Pos.TOP_RIGHT);
+        StackPane.setMargin(text, new Insets(10));
+        
+        refresh = new Timeline(new KeyFrame(Duration.millis(500), e -> update()));
+        refresh.setCycleCount(Timeline.INDEFINITE);
+    }
+    
+    public Node getNode() {
+        return text;
+    }
+    
+    public void toggle() {
+        boolean show = !text.isVisible();
+        text.setVisible(show);
+        if (show) {
+            update();
+            refresh.play();
+        } else {
+            refresh.stop();
+        }
+    }
+    
+    /** Shows a one-line note, e.g. where histograms were exported, under the numbers. */
+    public void setStatus(String status) {
+        this.status = status;
+        if (text.isVisible()) {
+            update();
+        }
+    }
+    
+    private void update() {
+        text.setText(metrics.summary() + "F3 hide  •  F4 export  •  F5 reset" + (status.isEmpty() ? "" : "\n" + status));
+    }
+}
@@ -0,0 +1,33 @@
+package com.cfg.cardflipgame.ui;
+
+/**
+ * How much drawing each card may cost, best first. Lower levels trade
+ * effects and animation for frame time on slow or software pipelines.
+ */
+public enum RenderQuality {
+    /** Shadows, match glow, hover scaling and full flips. */
+    FULL(true, false, true, 200),
+    /** As FULL, but cards are cached as bitmaps and flips are quicker. */
+    REDUCED(true, true, true, 100),
+    /** Cached cards without shadows, glow, hover or flip animation. */
+    MINIMAL(false, true, false, 0);
+    
+    private final boolean effects;
+    private final boolean cached;
+    private final boolean motion;
+    private final int flipHalfMillis;
+    
+    RenderQuality(boolean effects, boolean cached, boolean motion, int flipHalfMillis) {
+        this.effects = effects;
+        this.cached = cached;
+        this.motion = motion;
+        this.flipHalfMillis = flipHalfMillis;
+    }
+    
+    public boolean hasEffects() { return effects; }
+    public boolean isCached() { return cached; }
+    /** Whether hover scaling and the match pulse run. */
+    public boolean hasMotion() { return motion; }
+    /** Duration of each half of a flip; 0 swaps the face without animating. */
+    public int getFlipHalfMillis() { return flipHalfMillis; }
+}
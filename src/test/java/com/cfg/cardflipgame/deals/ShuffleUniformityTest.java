@@ -0,0 +1,41 @@
+package com.cfg.cardflipgame.deals;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.ShuffleRng;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShuffleUniformityTest {
+    
+    private static final int RUNS = 200;
+    private static final long DEALS = 20_000;
+    private static final double ALPHA = 0.05;
+    
+    @Test
+    void fairShuffleIsRejectedAtNominalRate() {
+        for (Difficulty difficulty : new Difficulty[] {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD}) {
+            GameConfig config = GameConfig.of(difficulty);
+            int rejected = 0;
+            double chiSquareSum = 0;
+            for (int run = 0; run < RUNS; run++) {
+                ShuffleUniformity.Result result = ShuffleUniformity.test(config, DEALS, 1000 + run,
+                    ShuffleRng::splitMix64, ForkJoinPool.commonPool());
+                if (result.getPValue() < ALPHA) {
+                    rejected++;
+                }
+                chiSquareSum += result.getChiSquare();
+            }
+            
+            // Binomial(200, 0.05) has mean 10 and exceeds 20 with probability below 0.2%
+            assertTrue(rejected <= 20, difficulty + ": rejected " + rejected + " of " + RUNS);
+            long df = (long) (config.getTotalCards() - 1) * (config.getTotalPairs() - 1);
+            double mean = chiSquareSum / RUNS;
+            assertTrue(Math.abs(mean - df) < 4 * Math.sqrt(2.0 * df / RUNS),
+                difficulty + ": mean chi-square " + mean + ", df " + df);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.cfg.cardflipgame.journal;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameJournalTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void corruptRecordEndsTheRecoveredLog() throws IOException {
+        GameEngine engine = new GameEngine(GameConfig.of(Difficulty.EASY));
+        try (GameJournal journal = GameJournal.open(directory)) {
+            engine.deal(1L);
+            journal.beginGame(engine, false, 1000);
+            journal.recordFlip(0);
+            journal.endGame(engine, 10, 2000);
+            engine.deal(2L);
+            journal.beginGame(engine, false, 3000);
+            journal.recordFlip(1);
+        }
+        
+        // Give the last deal a difficulty that does not exist
+        try (FileChannel channel = FileChannel.open(onlyFile(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            int lastDeal = -1;
+            for (int pos = 16; buf.getInt(pos) != 0; pos = (pos + 4 + (buf.getInt(pos) & 0xFFFFFF) + 3) & ~3) {
+                if (buf.getInt(pos) >>> 24 == GameJournal.TYPE_DEAL) {
+                    lastDeal = pos;
+                }
+            }
+            buf.put(lastDeal + 4, (byte) 0x7F);
+            buf.force();
+        }
+        
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(1, journal.getHistory().size());
+            assertNull(journal.restore());
+            engine.deal(3L);
+            journal.beginGame(engine, false, 4000);
+            journal.recordFlip(2);
+        }
+        try (GameJournal journal = GameJournal.open(directory)) {
+            RestoredGame restored = journal.restore();
+            assertNotNull(restored);
+            assertEquals(1, restored.getFlips().length);
+            assertEquals(2, restored.getFlips()[0]);
+        }
+    }
+    
+    @Test
+    void abandonedGameGoesIntoTheHistory() throws IOException {
+        GameEngine engine = new GameEngine(GameConfig.of(Difficulty.EASY));
+        try (GameJournal journal = GameJournal.open(directory)) {
+            engine.deal(1L);
+            journal.beginGame(engine, false, 1000);
+            journal.recordFlip(0);
+            journal.recordFlip(1);
+        }
+        try (GameJournal journal = GameJournal.open(directory)) {
+            journal.abandon(5000);
+            assertNull(journal.restore());
+            assertEquals(1, journal.getHistory().size());
+            assertFalse(journal.getHistory().get(0).isWon());
+            assertEquals(4000, journal.getHistory().get(0).getElapsedMillis());
+        }
+    }
+    
+    private Path onlyFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+}
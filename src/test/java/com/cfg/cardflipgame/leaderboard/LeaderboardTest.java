@@ -0,0 +1,51 @@
+package com.cfg.cardflipgame.leaderboard;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+    
+    @Test
+    void ranksFollowTheTopListing() {
+        Leaderboard leaderboard = new Leaderboard();
+        Random random = new Random(42);
+        int games = 5 * Leaderboard.RETAINED;
+        for (int i = 0; i < games; i++) {
+            leaderboard.add(Difficulty.EASY, 8 + random.nextInt(6), random.nextInt(7_200_000), i);
+        }
+        
+        List<Leaderboard.Entry> top = leaderboard.top(Difficulty.EASY, Integer.MAX_VALUE);
+        assertEquals(Leaderboard.RETAINED, top.size());
+        assertEquals(games, leaderboard.size(Difficulty.EASY));
+        
+        int previous = 0;
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboard.Entry entry = top.get(i);
+            int rank = leaderboard.standingOf(Difficulty.EASY, entry.getMoves(), entry.getElapsedMillis()).getRank();
+            // Either tied with the game listed above it, or ranked right at its position
+            assertTrue(rank == previous || rank == i + 1, "rank " + rank + " at position " + (i + 1));
+            previous = rank;
+        }
+    }
+    
+    @Test
+    void timesInTheSameBucketShareARank() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.add(Difficulty.MEDIUM, 20, 5_000, 0);
+        leaderboard.add(Difficulty.MEDIUM, 20, 5_050, 1);
+        leaderboard.add(Difficulty.MEDIUM, 20, 5_200, 2);
+        leaderboard.add(Difficulty.MEDIUM, 19, 9_000_000, 3);
+        
+        assertEquals(2, leaderboard.standingOf(Difficulty.MEDIUM, 20, 5_000).getRank());
+        assertEquals(2, leaderboard.standingOf(Difficulty.MEDIUM, 20, 5_050).getRank());
+        assertEquals(4, leaderboard.standingOf(Difficulty.MEDIUM, 20, 5_200).getRank());
+        assertEquals(5, leaderboard.standingOf(Difficulty.MEDIUM, 21, 0).getRank());
+        assertEquals(4, leaderboard.standingOf(Difficulty.MEDIUM, 21, 0).getTotal());
+    }
+}
@@ -0,0 +1,47 @@
+package com.cfg.cardflipgame.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FrameGovernorTest {
+    
+    private static final long BUDGET = 8_000_000L;
+    
+    @Test
+    void cheapPulsesKeepTheLevel() {
+        FrameGovernor governor = new FrameGovernor(BUDGET, 3);
+        // Sporadic input: pulses far apart, each one cheap
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(governor.pulse(1_000_000L));
+        }
+        assertEquals(0, governor.getLevel());
+    }
+    
+    @Test
+    void expensivePulsesStepDownOneWindowAtATime() {
+        FrameGovernor governor = new FrameGovernor(BUDGET, 3);
+        for (int i = 0; i < 30; i++) {
+            governor.pulse(BUDGET * 2);
+        }
+        assertEquals(1, governor.getLevel());
+        for (int i = 0; i < 300; i++) {
+            governor.pulse(BUDGET * 2);
+        }
+        assertEquals(2, governor.getLevel());
+    }
+    
+    @Test
+    void calmWindowsProbeBackUp() {
+        FrameGovernor governor = new FrameGovernor(BUDGET, 3);
+        for (int i = 0; i < 30; i++) {
+            governor.pulse(BUDGET * 2);
+        }
+        assertEquals(1, governor.getLevel());
+        for (int i = 0; i < 4 * 30; i++) {
+            governor.pulse(BUDGET / 2);
+        }
+        assertEquals(0, governor.getLevel());
+    }
+}
@@ -0,0 +1,64 @@
+package com.cfg.cardflipgame.replay;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayReaderTest {
+    
+    @Test
+    void truncatedLogStopsAtTheLastCompleteRecord() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayWriter writer = new ReplayWriter(bytes, true);
+        List<Integer> recordEnds = new ArrayList<>();
+        GameEngine engine = new GameEngine(GameConfig.of(Difficulty.EASY));
+        for (long seed = 1; seed <= 3; seed++) {
+            engine.deal(seed);
+            writer.beginGame(engine, 0);
+            for (int card = 0; card < engine.getConfig().getTotalCards(); card++) {
+                if (engine.isPending()) {
+                    engine.resolve();
+                }
+                if (engine.flip(card) != GameEngine.FlipResult.IGNORED) {
+                    writer.recordFlip(card, card * 100L);
+                }
+            }
+            writer.endGame(engine);
+            recordEnds.add(bytes.size());
+        }
+        byte[] log = bytes.toByteArray();
+        
+        for (int length = ReplayFormat.HEADER_SIZE; length <= log.length; length++) {
+            ReplayReader reader = new ReplayReader(ByteBuffer.wrap(log, 0, length).slice());
+            ReplayRecord record = new ReplayRecord();
+            int read = 0;
+            while (reader.next(record)) {
+                read++;
+            }
+            int complete = 0;
+            while (complete < recordEnds.size() && recordEnds.get(complete) <= length) {
+                complete++;
+            }
+            assertEquals(complete, read, "records in the first " + length + " bytes");
+            int lastEnd = complete == 0 ? ReplayFormat.HEADER_SIZE : recordEnds.get(complete - 1);
+            assertEquals(lastEnd, reader.position());
+            assertEquals(length != lastEnd, reader.isTruncated());
+        }
+        
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(log));
+        ReplayRecord record = new ReplayRecord();
+        Replayer replayer = new Replayer();
+        while (reader.next(record)) {
+            assertTrue(replayer.replay(record));
+        }
+    }
+}
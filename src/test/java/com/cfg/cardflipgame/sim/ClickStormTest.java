@@ -0,0 +1,282 @@
+package com.cfg.cardflipgame.sim;
+
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameController;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.engine.GameScheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of the turn state machine. It fires randomized clicks
+ * (valid, repeated, out of range and partner-seeking), clock jumps,
+ * re-deals, board switches and delay changes at a {@link GameController}
+ * running on a virtual clock. The whole state is checked after every
+ * event. A run is reproducible from its seed, and the first violation
+ * stops it with the seed and event number.
+ */
+class ClickStormTest {
+    
+    private static final long EVENTS = 250_000;
+    
+    @Test
+    void invariantsHoldUnderRandomEvents() {
+        for (long seed : new long[] {1, 42, 0x5eedc1ecL, -7}) {
+            Storm storm = new Storm(seed);
+            storm.run(EVENTS);
+            // A storm that never finishes a game or resolves a pair proves little
+            assertTrue(storm.wins > 0 && storm.matches > 0 && storm.mismatches > 0, storm.summary());
+        }
+    }
+    
+    private static final class Storm implements GameController.Listener {
+        
+        private static final long TICK_NANOS = 5_000_000L;
+        private static final long[] MATCH_DELAYS = {0, 5, 500};
+        private static final long[] MISMATCH_DELAYS = {0, 7, 1000};
+        private static final GameConfig[] BOARDS = {
+            GameConfig.of(Difficulty.EASY), GameConfig.of(Difficulty.MEDIUM), GameConfig.of(Difficulty.HARD),
+            GameConfig.createCustom(1, 2), GameConfig.createCustom(3, 6)
+        };
+        
+        private final long seed;
+        private final SplittableRandom random;
+        private long nowNanos = 0;
+        private final GameScheduler scheduler = new GameScheduler(() -> nowNanos, TICK_NANOS);
+        private final GameController controller = new GameController(scheduler, this);
+        private GameEngine engine;
+        private long matchDelayMillis, mismatchDelayMillis;
+        private long event = 0;
+        
+        // What the engine should report, tracked independently of it
+        private int expectedMoves, expectedPairs, flipCallbacks;
+        private long resolveByNanos;
+        private int[] solvedPerPair = new int[0];
+        private int[] drainStamp = new int[0];
+        private int drainRound = 0;
+        
+        private long accepted, ignored, matches, mismatches, wins, resets, switches;
+        
+        Storm(long seed) {
+            this.seed = seed;
+            this.random = new SplittableRandom(seed);
+            changeDelays();
+            switchBoard();
+        }
+        
+        /** Runs {@code events} events; throws {@link IllegalStateException} on the first violation. */
+        void run(long events) {
+            for (long i = 0; i < events; i++) {
+                event++;
+                step();
+                check();
+            }
+        }
+        
+        private void step() {
+            int cards = engine.getConfig().getTotalCards();
+            int roll = random.nextInt(100);
+            if (roll < 65) {
+                click(random.nextInt(cards));
+            } else if (roll < 75) {
+                click(partnerOfFlipped());
+            } else if (roll < 77) {
+                click(random.nextBoolean() ? -1 - random.nextInt(4) : cards + random.nextInt(4));
+            } else if (roll < 94) {
+                advance(random.nextLong(2 * Math.max(matchDelayMillis, mismatchDelayMillis) + 2));
+            } else if (roll < 97) {
+                redeal();
+            } else if (roll < 99) {
+                switchBoard();
+            } else {
+                changeDelays();
+            }
+        }
+        
+        /** The unsolved partner of the first face-up card, or a random card. */
+        private int partnerOfFlipped() {
+            int cards = engine.getConfig().getTotalCards();
+            int first = engine.getFlipped(0);
+            if (first < 0) return random.nextInt(cards);
+            for (int i = 0; i < cards; i++) {
+                if (i != first && engine.getCard(i) == engine.getCard(first)) return i;
+            }
+            throw violation("card %d has no partner", first);
+        }
+        
+        private void click(int cardIndex) {
+            int cards = engine.getConfig().getTotalCards();
+            boolean acceptable = cardIndex >= 0 && cardIndex < cards && !engine.isWon()
+                && engine.getFlippedCount() < 2 && !engine.isFaceUp(cardIndex);
+            boolean first = engine.getFlippedCount() == 0;
+            int callbacks = flipCallbacks;
+        
+            GameEngine.FlipResult result = controller.click(cardIndex);
+            if ((result != GameEngine.FlipResult.IGNORED) != acceptable) {
+                throw violation("click on %d returned %s", cardIndex, result);
+            }
+            if (!acceptable) {
+                ignored++;
+                return;
+            }
+        
+            accepted++;
+            if (flipCallbacks != callbacks + 1) {
+                throw violation("click on %d reported %d flips", cardIndex, flipCallbacks - callbacks);
+            }
+            if ((result == GameEngine.FlipResult.FIRST) != first) {
+                throw violation("click on %d returned %s", cardIndex, result);
+            }
+            if (!first) {
+                expectedMoves++;
+            }
+            if (engine.isPending()) {
+                // The delay in force now applies, even if it changes before the pair resolves
+                boolean match = engine.getCard(engine.getFlipped(0)) == engine.getCard(engine.getFlipped(1));
+                long delayMillis = Math.max(0, match ? matchDelayMillis : mismatchDelayMillis);
+                resolveByNanos = nowNanos + delayMillis * 1_000_000L + 2 * TICK_NANOS;
+            }
+        }
+        
+        private void advance(long millis) {
+            nowNanos += millis * 1_000_000L;
+            scheduler.advance();
+        }
+        
+        private void redeal() {
+            resets++;
+            engine.deal(random.nextLong());
+            restart();
+        }
+        
+        private void switchBoard() {
+            switches++;
+            engine = new GameEngine(BOARDS[random.nextInt(BOARDS.length)], new SplittableRandom(random.nextLong()));
+            restart();
+        }
+        
+        private void restart() {
+            controller.start(engine);
+            expectedMoves = 0;
+            expectedPairs = 0;
+            int cards = engine.getConfig().getTotalCards();
+            if (drainStamp.length != cards) {
+                drainStamp = new int[cards];
+                solvedPerPair = new int[engine.getConfig().getTotalPairs()];
+            }
+        }
+        
+        private void changeDelays() {
+            matchDelayMillis = MATCH_DELAYS[random.nextInt(MATCH_DELAYS.length)];
+            mismatchDelayMillis = MISMATCH_DELAYS[random.nextInt(MISMATCH_DELAYS.length)];
+            controller.setDelays(matchDelayMillis, mismatchDelayMillis);
+        }
+        
+        @Override
+        public void flipped(int cardIndex, GameEngine.FlipResult result) {
+            flipCallbacks++;
+            if (!engine.isRevealed(cardIndex) || engine.isSolved(cardIndex)) {
+                throw violation("card %d reported flipped but is not face up", cardIndex);
+            }
+        }
+        
+        @Override
+        public void matched(int card1, int card2) {
+            matches++;
+            expectedPairs++;
+            if (engine.getCard(card1) != engine.getCard(card2) || !engine.isSolved(card1) || !engine.isSolved(card2)) {
+                throw violation("match of %d and %d is not a solved pair", card1, card2);
+            }
+            if (engine.isWon()) {
+                wins++;
+            }
+        }
+        
+        @Override
+        public void mismatched(int card1, int card2) {
+            mismatches++;
+            if (engine.getCard(card1) == engine.getCard(card2) || engine.isFaceUp(card1) || engine.isFaceUp(card2)) {
+                throw violation("mismatch of %d and %d is not two face-down cards", card1, card2);
+            }
+        }
+        
+        private void check() {
+            int cards = engine.getConfig().getTotalCards();
+            int flippedCount = engine.getFlippedCount();
+            if (flippedCount < 0 || flippedCount > 2) {
+                throw violation("%d cards flipped", flippedCount);
+            }
+        
+            Arrays.fill(solvedPerPair, 0);
+            int solved = 0;
+            int turned = 0;
+            for (int i = 0; i < cards; i++) {
+                if (engine.isSolved(i)) {
+                    solved++;
+                    solvedPerPair[engine.getCard(i)]++;
+                } else if (engine.isRevealed(i)) {
+                    turned++;
+                }
+            }
+            if (turned != flippedCount) {
+                throw violation("%d unsolved cards face up, %d flipped", turned, flippedCount);
+            }
+            for (int slot = 0; slot < 2; slot++) {
+                int card = engine.getFlipped(slot);
+                boolean used = slot < flippedCount;
+                if (used ? card < 0 || !engine.isRevealed(card) || engine.isSolved(card) : card != -1) {
+                    throw violation("flip slot %d holds %d with %d cards flipped", slot, card, flippedCount);
+                }
+            }
+            for (int pair = 0; pair < solvedPerPair.length; pair++) {
+                if (solvedPerPair[pair] == 1) {
+                    throw violation("pair %d is half solved", pair);
+                }
+            }
+        
+            if (engine.getMatchedPairs() != expectedPairs) {
+                throw violation("%d pairs matched, %d reported", engine.getMatchedPairs(), expectedPairs);
+            }
+            if (engine.getMoves() != expectedMoves) {
+                throw violation("%d moves, expected %d", engine.getMoves(), expectedMoves);
+            }
+            if (engine.isPending() != controller.isResolving()) {
+                throw violation("engine pending=%b, controller resolving=%b", engine.isPending(), controller.isResolving());
+            }
+            if (controller.isResolving() && nowNanos >= resolveByNanos) {
+                throw violation("pair still pending %d ms past its delay", (nowNanos - resolveByNanos) / 1_000_000L);
+            }
+            if (scheduler.getPendingCount() != (engine.isPending() ? 1 : 0)) {
+                throw violation("%d resolutions scheduled, pending=%b", scheduler.getPendingCount(), engine.isPending());
+            }
+            if (engine.isWon() != (solved == cards) || (engine.isWon() && flippedCount > 0)) {
+                throw violation("won=%b with %d of %d solved and %d flipped", engine.isWon(), solved, cards, flippedCount);
+            }
+        
+            // Every change reaches a view exactly once per drain
+            int round = ++drainRound;
+            engine.drainChanges(cardIndex -> {
+                if (drainStamp[cardIndex] == round) {
+                    throw violation("card %d drained twice", cardIndex);
+                }
+                drainStamp[cardIndex] = round;
+            });
+        }
+        
+        private IllegalStateException violation(String format, Object... args) {
+            return new IllegalStateException("Seed " + seed + ", event " + event + ": " + String.format(format, args));
+        }
+        
+        String summary() {
+            return String.format("%d events: %d clicks accepted, %d ignored, %d matches, %d mismatches, "
+                + "%d wins, %d re-deals, %d board switches", event, accepted, ignored, matches, mismatches,
+                wins, resets, switches);
+        }
+    }
+}
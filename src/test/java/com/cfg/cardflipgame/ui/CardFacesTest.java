@@ -0,0 +1,32 @@
+package com.cfg.cardflipgame.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CardFacesTest {
+    
+    @Test
+    void facesAreDistinctUpToMaxPairs() {
+        CardFaces faces = new CardFaces(CardFaces.MAX_PAIRS);
+        Set<String> seen = new HashSet<>();
+        for (int pair = 0; pair < CardFaces.MAX_PAIRS; pair++) {
+            String face = faces.isGenerated(pair)
+                ? Arrays.toString(FaceGenerator.attributes(faces.generatedId(pair)))
+                : faces.getSymbol(pair);
+            seen.add(face);
+        }
+        assertEquals(CardFaces.MAX_PAIRS, seen.size());
+    }
+    
+    @Test
+    void boardsPastMaxPairsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CardFaces(CardFaces.MAX_PAIRS + 1));
+        assertThrows(IllegalArgumentException.class, () -> FaceGenerator.attributes(FaceGenerator.DISTINCT));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cfg.cardflipgame.ui;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Renders faces on the headless Monocle toolkit that surefire configures. */
+class FaceAtlasTest {
+    
+    @Test
+    void largestBoardRendersDistinctFacesAndKeepsThem() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.setImplicitExit(false);
+        Platform.startup(started::countDown);
+        started.await();
+        
+        FutureTask<Void> check = new FutureTask<>(() -> {
+            CardFaces faces = new CardFaces(CardFaces.MAX_PAIRS);
+            FaceAtlas atlas = faces.atlas(48, 8);
+            // Emoji faces are told apart by their glyph, which depends on the installed fonts
+            Set<IntBuffer> seen = new HashSet<>();
+            for (int pair = CardFaces.symbolCount(); pair < CardFaces.MAX_PAIRS; pair++) {
+                seen.add(pixelsOf(atlas.get(pair)));
+            }
+            assertEquals(FaceGenerator.DISTINCT, seen.size());
+            
+            for (int pair = 0; pair < CardFaces.MAX_PAIRS; pair++) {
+                assertSame(atlas.get(pair), atlas.get(pair));
+            }
+            return null;
+        });
+        Platform.runLater(check);
+        check.get();
+    }
+    
+    @Test
+    void cacheHoldsTheLargestBoardAtCardSizes() {
+        assertEquals(CardFaces.MAX_PAIRS, FaceAtlas.capacity(CardFaces.MAX_PAIRS, 32, 2));
+        assertTrue(FaceAtlas.capacity(CardFaces.MAX_PAIRS, 400, 2) < CardFaces.MAX_PAIRS);
+    }
+    
+    private static IntBuffer pixelsOf(Image image) {
+        int width = (int) image.getWidth(), height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return IntBuffer.wrap(pixels);
+    }
+}
@@ -0,0 +1,185 @@
+package com.cfg.cardflipgame.bench;
+
+import com.cfg.cardflipgame.CardFlipGame;
+import com.cfg.cardflipgame.engine.Difficulty;
+import com.cfg.cardflipgame.engine.GameConfig;
+import com.cfg.cardflipgame.engine.GameEngine;
+import com.cfg.cardflipgame.ui.BoardView;
+import com.cfg.cardflipgame.ui.ButtonBoardView;
+import com.cfg.cardflipgame.ui.CanvasBoardView;
+import com.cfg.cardflipgame.ui.CardFaces;
+import com.cfg.cardflipgame.ui.RenderQuality;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The real board views on a headless Monocle stage with the software
+ * pipeline, per board size and render quality:
+ * <ul>
+ *   <li>{@code build}: a fresh view bound to the board, styled and laid out;</li>
+ *   <li>{@code click}: one scripted click and the CSS/layout pass of its pulse;</li>
+ *   <li>{@code turn}: a whole turn in one pulse. Run with {@code -prof gc}
+ *       and read {@code gc.alloc.rate.norm} for allocation per turn;</li>
+ *   <li>{@code handoff}: the FX thread round trip alone, to subtract from the others.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw", "-Djava.awt.headless=true"})
+@State(Scope.Thread)
+public class BoardViewBenchmark {
+    
+    private static final String STYLESHEET = CardFlipGame.class.getResource("game.css").toExternalForm();
+    
+    @Param({"EASY", "MEDIUM", "HARD", "64x64"})
+    private String board;
+    
+    @Param({"FULL", "MINIMAL"})
+    private RenderQuality quality;
+    
+    private GameConfig config;
+    private CardFaces faces;
+    private GameEngine engine;
+    private BoardView view;
+    private Parent root;
+    private int[] layout;
+    private int[] script;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        FxThread.start();
+        
+        config = parseBoard(board);
+        engine = new GameEngine(config, new SplittableRandom(42));
+        layout = new int[config.getTotalCards()];
+        for (int i = 0; i < layout.length; i++) {
+            layout[i] = engine.getCard(i);
+        }
+        script = buildScript(layout);
+        engine.deal(layout);
+        cursor = 0;
+        
+        FxThread.call(() -> {
+            faces = new CardFaces(config.getTotalPairs());
+            view = newView();
+            root = stage(view);
+            engine.clearChanges();
+            return null;
+        });
+    }
+    
+    private static GameConfig parseBoard(String board) {
+        int x = board.indexOf('x');
+        if (x < 0) return GameConfig.of(Difficulty.valueOf(board));
+        return GameConfig.createCustom(Integer.parseInt(board.substring(0, x)), Integer.parseInt(board.substring(x + 1)));
+    }
+    
+    /** Same script as GameEngineBenchmark: a sweep of mostly mismatches, then every pair. */
+    private static int[] buildScript(int[] layout) {
+        int n = layout.length;
+        int[] partner = new int[n];
+        int[] firstSeen = new int[n / 2];
+        Arrays.fill(firstSeen, -1);
+        for (int i = 0; i < n; i++) {
+            int pair = layout[i];
+            if (firstSeen[pair] < 0) {
+                firstSeen[pair] = i;
+            } else {
+                partner[i] = firstSeen[pair];
+                partner[firstSeen[pair]] = i;
+            }
+        }
+        
+        int[] script = new int[n * 2];
+        int k = 0;
+        for (int i = 0; i + 1 < n; i += 2) {
+            if (partner[i] != i + 1) {
+                script[k++] = i;
+                script[k++] = i + 1;
+            }
+        }
+        for (int pair = 0; pair < n / 2; pair++) {
+            script[k++] = firstSeen[pair];
+            script[k++] = partner[firstSeen[pair]];
+        }
+        return Arrays.copyOf(script, k);
+    }
+    
+    private BoardView newView() {
+        BoardView fresh = switch (config.getRenderer()) {
+            case BUTTONS -> new ButtonBoardView(cardIndex -> { });
+            case CANVAS -> new CanvasBoardView(cardIndex -> { });
+        };
+        fresh.setQuality(quality);
+        return fresh;
+    }
+    
+    /** Puts the view in a styled scene, binds it and runs one CSS/layout pass. */
+    private Parent stage(BoardView boardView) {
+        StackPane parent = new StackPane(boardView.getNode());
+        Scene scene = new Scene(parent, 1000, 800);
+        scene.getStylesheets().add(STYLESHEET);
+        boardView.bind(engine, faces);
+        parent.applyCss();
+        parent.layout();
+        return parent;
+    }
+    
+    private void nextClick() {
+        if (engine.isPending()) {
+            engine.resolve();
+        }
+        if (cursor == script.length) {
+            engine.deal(layout);
+            cursor = 0;
+        }
+        engine.flip(script[cursor++]);
+    }
+    
+    /** The work of one pulse: apply the change set, then CSS and layout. */
+    private void pulse() {
+        engine.drainChanges(view::update);
+        root.applyCss();
+        root.layout();
+    }
+    
+    @Benchmark
+    public Object build() throws Exception {
+        return FxThread.call(() -> stage(newView()));
+    }
+    
+    @Benchmark
+    public Object click() throws Exception {
+        return FxThread.call(() -> {
+            nextClick();
+            pulse();
+            return root;
+        });
+    }
+    
+    @Benchmark
+    public Object turn() throws Exception {
+        return FxThread.call(() -> {
+            nextClick();
+            nextClick();
+            engine.resolve();
+            pulse();
+            return root;
+        });
+    }
+    
+    @Benchmark
+    public Object handoff() throws Exception {
+        return FxThread.call(() -> root);
+    }
+}
@@ -0,0 +1,37 @@
+package com.cfg.cardflipgame.bench;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs benchmark bodies on the FX application thread. The toolkit is
+ * started once per JVM; JMH forks a JVM per benchmark, so the Monocle
+ * properties set in {@code @Fork} apply before it starts.
+ */
+final class FxThread {
+    
+    private static boolean started = false;
+    
+    private FxThread() {
+    }
+    
+    static synchronized void start() throws InterruptedException {
+        if (started) return;
+        
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.setImplicitExit(false);
+        Platform.startup(latch::countDown);
+        latch.await();
+        started = true;
+    }
+    
+    /** Runs {@code task} on the FX thread and waits for its result. */
+    static <T> T call(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}